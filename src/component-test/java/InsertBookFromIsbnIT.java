@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -91,11 +92,16 @@ public class InsertBookFromIsbnIT {
         openLibraryMock.resetAll();
         libreTranslateMock.resetAll();
         bookRepository.deleteAll();
+        // Provider responses are cached, so each test must see its own WireMock stubs
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private BookRepository bookRepository;
 
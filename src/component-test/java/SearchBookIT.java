@@ -5,7 +5,11 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -13,6 +17,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -28,7 +33,11 @@ import static org.junit.jupiter.api.Assertions.assertAll;
     - Successfully searching books by title.
     - Successfully searching books by author.
     - Successfully searching books by genre.
+    - Successfully searching books with a full-text query, stemmed with the language of each book.
     - Returning all books when no search criteria is provided.
+    - Paging through all books with the limit parameter and the Link header of each page.
+    - Streaming the matching books as newline-delimited JSON when application/x-ndjson is accepted.
+    - Returning a bad request when the streamed full-text query is blank.
     - Returning an empty list when no books match the search criteria.
     The test library is created using MockUtils.createSampleLibrary() and contains:
     - "The Little Prince" by Antoine de Saint-Exupéry (Genre: Fiction)
@@ -138,6 +147,37 @@ public class SearchBookIT {
         assertThat(bookResponse.getGenre()).isEqualTo("Horror");
     }
 
+    @Test
+    void shouldSearchBooksByFullTextQuery(){
+        // Act
+        String query = "stephen king hotels";
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        ResponseEntity<BookDTO[]> response = restTemplate.getForEntity("/api/v1/books?q=" + encodedQuery, BookDTO[].class);
+        BookDTO[] booksResponse = response.getBody();
+
+        // Assert Response
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertNotNull(booksResponse);
+        Assertions.assertEquals(1, booksResponse.length);
+        assertThat(booksResponse[0].getTitle()).isEqualTo("The Shining");
+    }
+
+    @Test
+    void shouldRankTitleMatchesFirst_WhenSearchingByFullTextQuery(){
+        // Act
+        String query = "mercedes OR prince";
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        ResponseEntity<BookDTO[]> response = restTemplate.getForEntity("/api/v1/books?q=" + encodedQuery, BookDTO[].class);
+        BookDTO[] booksResponse = response.getBody();
+
+        // Assert Response
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertNotNull(booksResponse);
+        Assertions.assertEquals(2, booksResponse.length);
+        assertThat(booksResponse[0].getTitle()).isEqualTo("Mr. Mercedes");
+        assertThat(booksResponse[1].getTitle()).isEqualTo("The Little Prince");
+    }
+
     @Test
     void shouldReturnAllBooks_WhenNoSearchCriteriaProvided(){
         // Act
@@ -150,6 +190,63 @@ public class SearchBookIT {
         Assertions.assertEquals(3, booksResponse.length);
     }
 
+    @Test
+    void shouldPageThroughAllBooks_FollowingLinkHeader(){
+        // Act
+        ResponseEntity<BookDTO[]> firstPage = restTemplate.getForEntity("/api/v1/books?limit=2", BookDTO[].class);
+        String next = firstPage.getHeaders().getFirst(HttpHeaders.LINK);
+        Assertions.assertNotNull(next);
+        String nextUrl = next.substring(next.indexOf('<') + 1, next.indexOf('>'));
+        ResponseEntity<BookDTO[]> secondPage = restTemplate.getForEntity(URI.create(nextUrl), BookDTO[].class);
+
+        // Assert Response
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(next).endsWith("; rel=\"next\"");
+        Assertions.assertNotNull(firstPage.getBody());
+        Assertions.assertEquals(2, firstPage.getBody().length);
+        assertThat(secondPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertNull(secondPage.getHeaders().getFirst(HttpHeaders.LINK));
+        Assertions.assertNotNull(secondPage.getBody());
+        Assertions.assertEquals(1, secondPage.getBody().length);
+        Assertions.assertNotEquals(firstPage.getBody()[0].getIsbn(), secondPage.getBody()[0].getIsbn());
+        Assertions.assertNotEquals(firstPage.getBody()[1].getIsbn(), secondPage.getBody()[0].getIsbn());
+    }
+
+    @Test
+    void shouldStreamMatchingBooksAsNdjson_WhenNdjsonAccepted(){
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange("/api/v1/books?author=king", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        // Assert Response
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        Assertions.assertNotNull(response.getBody());
+        String[] lines = response.getBody().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        assertThat(lines[0]).startsWith("{").contains("\"title\":\"The Shining\"");
+        assertThat(lines[1]).startsWith("{").contains("\"title\":\"Mr. Mercedes\"");
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenNdjsonQueryIsBlank(){
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange("/api/v1/books?q=%20", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        // Assert Response
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("Invalid argument");
+    }
+
     @Test
     void shouldReturnEmptyList_WhenNoBooksMatchSearchCriteria(){
         // Act
@@ -0,0 +1,126 @@
+package com.github.leo791.personal_library.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an index built by DumpIndexWriter.
+ * The index and data files are memory-mapped when opened, in segments of 1 GiB as a single mapping is limited to
+ * 2 GiB, and keys are found with a binary search over the sorted index, so lookups only touch a few pages.
+ * Lookups only use absolute reads on the mapped buffers, so the reader can be shared between threads.
+ */
+class DumpIndexReader {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    private final int keyWidth;
+    private final int entryWidth;
+    private final long entries;
+    private final MappedByteBuffer[] index;
+    private final MappedByteBuffer[] data;
+
+    DumpIndexReader(Path directory, String name, int keyWidth) throws IOException {
+        this.keyWidth = keyWidth;
+        this.entryWidth = keyWidth + Long.BYTES;
+        this.index = map(DumpIndexWriter.indexPath(directory, name));
+        this.data = map(DumpIndexWriter.dataPath(directory, name));
+        this.entries = length(index) / entryWidth;
+    }
+
+    /**
+     * @return the number of keys in the index
+     */
+    long size() {
+        return entries;
+    }
+
+    /**
+     * Finds the record of a key.
+     *
+     * @param key the ASCII key
+     * @return the record bytes, or null if the key is not in the index
+     */
+    byte[] get(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length == 0 || bytes.length > keyWidth) {
+            return null;
+        }
+        long low = 0;
+        long high = entries - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            int comparison = compareKey(middle * entryWidth, bytes);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                long offset = ByteBuffer.wrap(read(index, middle * entryWidth + keyWidth, Long.BYTES)).getLong();
+                int length = ByteBuffer.wrap(read(data, offset, Integer.BYTES)).getInt();
+                return read(data, offset + Integer.BYTES, length);
+            }
+        }
+        return null;
+    }
+
+    // ================= Private Methods =================
+
+    // Compares the key stored at the position with the searched key, padded with zeros like the stored keys
+    private int compareKey(long position, byte[] key) {
+        for (int i = 0; i < keyWidth; i++) {
+            int stored = byteAt(index, position + i) & 0xFF;
+            int searched = i < key.length ? key[i] & 0xFF : 0;
+            if (stored != searched) {
+                return Integer.compare(stored, searched);
+            }
+        }
+        return 0;
+    }
+
+    private static byte byteAt(MappedByteBuffer[] segments, long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & (SEGMENT_SIZE - 1)));
+    }
+
+    // Copies bytes that may span two segments
+    private static byte[] read(MappedByteBuffer[] segments, long position, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long current = position + copied;
+            MappedByteBuffer segment = segments[(int) (current >>> SEGMENT_SHIFT)];
+            int offset = (int) (current & (SEGMENT_SIZE - 1));
+            int count = Math.min(length - copied, segment.capacity() - offset);
+            segment.get(offset, bytes, copied, count);
+            copied += count;
+        }
+        return bytes;
+    }
+
+    private static long length(MappedByteBuffer[] segments) {
+        long length = 0;
+        for (MappedByteBuffer segment : segments) {
+            length += segment.capacity();
+        }
+        return length;
+    }
+
+    // The mappings stay valid after the channel is closed
+    private static MappedByteBuffer[] map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+            return segments;
+        }
+    }
+}
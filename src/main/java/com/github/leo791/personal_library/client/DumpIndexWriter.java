@@ -0,0 +1,313 @@
+package com.github.leo791.personal_library.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Properties;
+
+/**
+ * Builds an on-disk index of records keyed by short ASCII keys, read back by DumpIndexReader.
+ * Records are appended to a data file, and their keys are sorted with an external merge sort: keys are buffered
+ * up to a fixed number of entries, written to a sorted run file, and the runs are merged into the index file once
+ * every record has been added. Memory use is bounded by the run size, whatever the number of records.
+ * A checkpoint is written with every run, recording how many input lines the index covers, so a build interrupted
+ * by a crash or a restart resumes from the last checkpoint instead of starting over.
+ */
+class DumpIndexWriter implements Closeable {
+
+    private static final String LINES = "lines";
+    private static final String DATA_LENGTH = "dataLength";
+    private static final String RUNS = "runs";
+    private static final String COMPLETE = "complete";
+
+    private final Path directory;
+    private final String name;
+    private final int keyWidth;
+    private final int runSize;
+    private final List<Entry> buffer;
+    private final long resumedLines;
+    private final boolean complete;
+    private DataOutputStream data;
+    private FileOutputStream dataFile;
+    private long dataLength;
+    private int runs;
+
+    /**
+     * Opens the index called name in the directory, resuming from its checkpoint if there is one.
+     *
+     * @param directory the directory of the index files
+     * @param name      the name of the index, used as the prefix of its files
+     * @param keyWidth  the maximum length of a key, in bytes
+     * @param runSize   the number of keys sorted in memory at a time
+     */
+    DumpIndexWriter(Path directory, String name, int keyWidth, int runSize) throws IOException {
+        this.directory = directory;
+        this.name = name;
+        this.keyWidth = keyWidth;
+        this.runSize = runSize;
+        this.buffer = new ArrayList<>(runSize);
+        Files.createDirectories(directory);
+
+        Properties checkpoint = readCheckpoint(checkpointPath(directory, name));
+        this.resumedLines = Long.parseLong(checkpoint.getProperty(LINES, "0"));
+        this.dataLength = Long.parseLong(checkpoint.getProperty(DATA_LENGTH, "0"));
+        this.runs = Integer.parseInt(checkpoint.getProperty(RUNS, "0"));
+        this.complete = Boolean.parseBoolean(checkpoint.getProperty(COMPLETE, "false"));
+        if (!complete) {
+            // Records written after the last checkpoint are not covered by any run, so they are dropped
+            try (RandomAccessFile file = new RandomAccessFile(dataPath(directory, name).toFile(), "rw")) {
+                file.setLength(dataLength);
+            }
+            this.dataFile = new FileOutputStream(dataPath(directory, name).toFile(), true);
+            this.data = new DataOutputStream(new BufferedOutputStream(dataFile, 1 << 16));
+        }
+    }
+
+    /**
+     * @return the number of input lines already covered by the index, to be skipped when resuming
+     */
+    long resumedLines() {
+        return resumedLines;
+    }
+
+    /**
+     * @return whether the index was already built completely
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Appends a record to the data file.
+     *
+     * @param record the record bytes
+     * @return the offset of the record, to be given to addKey
+     */
+    long appendRecord(byte[] record) throws IOException {
+        long offset = dataLength;
+        data.writeInt(record.length);
+        data.write(record);
+        dataLength += Integer.BYTES + record.length;
+        return offset;
+    }
+
+    /**
+     * Adds a key pointing to a record. Keys longer than the key width are ignored.
+     *
+     * @param key    the ASCII key
+     * @param offset the offset of the record returned by appendRecord
+     * @return whether the key was added
+     */
+    boolean addKey(String key, long offset) {
+        byte[] bytes = key.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length == 0 || bytes.length > keyWidth) {
+            return false;
+        }
+        buffer.add(new Entry(Arrays.copyOf(bytes, keyWidth), offset));
+        return true;
+    }
+
+    /**
+     * Marks the end of an input line. A run and a checkpoint are written once enough keys are buffered.
+     *
+     * @param lines the total number of input lines read so far, including the skipped ones
+     */
+    void endLine(long lines) throws IOException {
+        if (buffer.size() >= runSize) {
+            writeRun(lines);
+        }
+    }
+
+    /**
+     * Writes the last run and merges every run into the index file.
+     *
+     * @param lines the total number of input lines read
+     */
+    void finish(long lines) throws IOException {
+        writeRun(lines);
+        data.close();
+        Path index = indexPath(directory, name);
+        Path temporary = directory.resolve(name + ".idx.tmp");
+        mergeRuns(temporary);
+        Files.move(temporary, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Properties checkpoint = checkpoint(lines);
+        checkpoint.setProperty(COMPLETE, "true");
+        writeCheckpoint(checkpoint);
+        for (int run = 0; run < runs; run++) {
+            Files.deleteIfExists(runPath(run));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (data != null) {
+            data.close();
+        }
+    }
+
+    /**
+     * Checks whether the index called name in the directory was built completely.
+     *
+     * @param directory the directory of the index files
+     * @param name      the name of the index
+     * @return true if its index file was written and its checkpoint marks it as complete
+     */
+    static boolean isComplete(Path directory, String name) throws IOException {
+        return Files.exists(indexPath(directory, name))
+                && Boolean.parseBoolean(readCheckpoint(checkpointPath(directory, name)).getProperty(COMPLETE));
+    }
+
+    static Path dataPath(Path directory, String name) {
+        return directory.resolve(name + ".dat");
+    }
+
+    static Path indexPath(Path directory, String name) {
+        return directory.resolve(name + ".idx");
+    }
+
+    // ================= Private Methods =================
+
+    private void writeRun(long lines) throws IOException {
+        // The records the run points to must be on disk before the checkpoint says they are
+        data.flush();
+        dataFile.getChannel().force(false);
+        if (!buffer.isEmpty()) {
+            buffer.sort(Comparator.naturalOrder());
+            try (DataOutputStream run = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(runPath(runs)), 1 << 16))) {
+                for (Entry entry : buffer) {
+                    run.write(entry.key());
+                    run.writeLong(entry.offset());
+                }
+            }
+            runs++;
+            buffer.clear();
+        }
+        writeCheckpoint(checkpoint(lines));
+    }
+
+    // Runs are merged in key order, and the record of the first run wins when a key was added more than once
+    private void mergeRuns(Path target) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator
+                .comparing((RunReader reader) -> reader.current)
+                .thenComparingInt(reader -> reader.run));
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 1 << 16);
+             DataOutputStream index = new DataOutputStream(out)) {
+            for (int run = 0; run < runs; run++) {
+                RunReader reader = new RunReader(run, Files.newInputStream(runPath(run)), keyWidth);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            byte[] previous = null;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                Entry entry = reader.current;
+                if (previous == null || !Arrays.equals(previous, entry.key())) {
+                    index.write(entry.key());
+                    index.writeLong(entry.offset());
+                    previous = entry.key();
+                }
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private Properties checkpoint(long lines) {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty(LINES, Long.toString(lines));
+        checkpoint.setProperty(DATA_LENGTH, Long.toString(dataLength));
+        checkpoint.setProperty(RUNS, Integer.toString(runs));
+        return checkpoint;
+    }
+
+    private static Properties readCheckpoint(Path path) throws IOException {
+        Properties checkpoint = new Properties();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                checkpoint.load(in);
+            }
+        }
+        return checkpoint;
+    }
+
+    // Written to a temporary file and moved, so a crash never leaves a half-written checkpoint
+    private void writeCheckpoint(Properties checkpoint) throws IOException {
+        Path temporary = directory.resolve(name + ".checkpoint.tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            checkpoint.store(out, "Open Library dump index checkpoint");
+        }
+        Files.move(temporary, checkpointPath(directory, name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path checkpointPath(Path directory, String name) {
+        return directory.resolve(name + ".checkpoint");
+    }
+
+    private Path runPath(int run) {
+        return directory.resolve(name + ".run-" + run);
+    }
+
+    private record Entry(byte[] key, long offset) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            return Arrays.compareUnsigned(key, other.key);
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+        private final int run;
+        private final DataInputStream in;
+        private final int keyWidth;
+        private Entry current;
+
+        private RunReader(int run, InputStream in, int keyWidth) {
+            this.run = run;
+            this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+            this.keyWidth = keyWidth;
+        }
+
+        private boolean next() throws IOException {
+            byte[] key = new byte[keyWidth];
+            try {
+                in.readFully(key);
+                current = new Entry(key, in.readLong());
+                return true;
+            } catch (EOFException e) {
+                current = null;
+                return false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
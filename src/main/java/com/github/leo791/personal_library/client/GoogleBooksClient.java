@@ -1,33 +1,203 @@
 package com.github.leo791.personal_library.client;
 
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.config.ResilienceConfig;
 import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 /**
  * Client for interacting with the Google Books API.
  * This client fetches book information based on ISBN using the Google Books API.
+ * The number of concurrent requests is bounded, so bulk imports cannot flood the API, and calls are short-circuited
+ * while the API keeps failing.
+ * Calls are spread out by the GoogleBooksRateLimiter to stay within the API key quota.
+ * Responses with at least one book are cached by normalized ISBN, so re-inserting a book does not use the API quota.
+ * Only the first volume is requested, with only the fields mapped to a book, and responses are sent gzip-encoded.
+ * Bulk imports look up several ISBNs with a single request, which divides their quota use by the batch size.
  */
 @Component
 public class GoogleBooksClient {
 
+    // Partial response: only the fields read by BookMapper, plus the identifiers the volume was matched on
+    static final String VOLUME_FIELDS = "totalItems,items(volumeInfo(title,authors,publisher,publishedDate,"
+            + "mainCategory,categories,description,language,pageCount,industryIdentifiers))";
+
+    // Largest number of ISBNs fetched with a single request, and of volumes Google returns for a request
+    public static final int MAX_BATCH_SIZE = 20;
+    private static final int MAX_RESULTS = 40;
+
+    // Google only sends gzip-encoded responses to user agents that contain "gzip"
+    private static final String USER_AGENT = "personal-library (gzip)";
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
     private final String apiKey;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final GoogleBooksRateLimiter rateLimiter;
+    private final Cache cache;
 
     public GoogleBooksClient(
-            RestTemplate restTemplate,
+            @Qualifier("googleBooksRestTemplate") RestTemplate restTemplate,
             @Value("${google.books.api.base-url}") String baseUrl,
-            @Value("${google.books.api.key}") String apiKey
+            @Value("${google.books.api.key}") String apiKey,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            GoogleBooksRateLimiter rateLimiter,
+            CacheManager cacheManager
     ) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
         this.apiKey = apiKey;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(ResilienceConfig.GOOGLE_BOOKS);
+        this.bulkhead = bulkheadRegistry.bulkhead(ResilienceConfig.GOOGLE_BOOKS);
+        this.rateLimiter = rateLimiter;
+        this.cache = cacheManager.getCache(CacheConfig.GOOGLE_BOOKS_CACHE);
+    }
+
+    /**
+     * Fetches the volumes matching an ISBN.
+     * A 429 response pauses the rate limiter for the time given by its Retry-After header, and the call is sent
+     * once more after the pause.
+     *
+     * @param isbn the ISBN to search for
+     * @param bulk whether the call is part of a bulk import, which gives way to single inserts when quota is scarce
+     * @return the Google Books response
+     */
+    @Cacheable(cacheNames = CacheConfig.GOOGLE_BOOKS_CACHE,
+            key = "T(com.github.leo791.personal_library.util.IsbnUtils).normalizeIsbn(#isbn)",
+            unless = "#result == null || !#result.hasItems()")
+    public GoogleBookResponse fetchBookByIsbn(String isbn, boolean bulk) {
+        String url = baseUrl + "/books/v1/volumes?q=isbn:" + isbn + "&maxResults=1&fields=" + VOLUME_FIELDS
+                + "&key=" + apiKey;
+        return fetchWithRetry(url, 1, bulk);
+    }
+
+    /**
+     * Fetches the volumes matching several ISBNs with a single request, using one unit of quota.
+     * Returned volumes are matched back to the requested ISBNs through their industry identifiers, and each matched
+     * volume is put in the Google Books cache, so the following fetchBookByIsbn calls for its ISBN are served from
+     * the cache. ISBNs without a matching volume are left out, and go through fetchBookByIsbn as usual.
+     *
+     * @param isbns the normalized ISBNs to search for, at most MAX_BATCH_SIZE of them
+     * @param bulk  whether the call is part of a bulk import, which gives way to single inserts when quota is scarce
+     * @return the response of each matched ISBN, with the matching volume as its only item
+     */
+    public Map<String, GoogleBookResponse> fetchBooksByIsbns(List<String> isbns, boolean bulk) {
+        if (isbns.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ISBNs can be fetched at once.");
+        }
+        if (isbns.isEmpty()) {
+            return Map.of();
+        }
+        String query = isbns.stream().map(isbn -> "isbn:" + isbn).collect(Collectors.joining(" OR "));
+        // Editions may share a volume, so a few more volumes than ISBNs are requested
+        int maxResults = Math.min(MAX_RESULTS, isbns.size() * 2);
+        String url = baseUrl + "/books/v1/volumes?q=" + query + "&maxResults=" + maxResults + "&fields=" + VOLUME_FIELDS
+                + "&key=" + apiKey;
+        GoogleBookResponse response = fetchWithRetry(url, maxResults, bulk);
+
+        Map<String, GoogleBookResponse> matches = new HashMap<>();
+        if (response == null || !response.hasItems()) {
+            return matches;
+        }
+        Set<String> requested = new HashSet<>(isbns);
+        for (GoogleBookResponse.Item item : response.getItems()) {
+            if (item.getVolumeInfo() == null) {
+                continue;
+            }
+            for (GoogleBookResponse.IndustryIdentifier identifier : item.getVolumeInfo().getIndustryIdentifiers()) {
+                String isbn = IsbnUtils.normalizeIsbn(identifier.getIdentifier());
+                // The first matching volume wins, as it does for a single ISBN
+                if (isbn != null && requested.contains(isbn) && !matches.containsKey(isbn)) {
+                    matches.put(isbn, new GoogleBookResponse(1, List.of(item)));
+                }
+            }
+        }
+        matches.forEach(cache::put);
+        return matches;
+    }
+
+    // A 429 response pauses the rate limiter for the time given by its Retry-After header, and the call is sent
+    // once more after the pause
+    private GoogleBookResponse fetchWithRetry(String url, int maxItems, boolean bulk) {
+        try {
+            return guarded(bulk, () -> fetch(url, maxItems));
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) {
+                throw e;
+            }
+            HttpHeaders headers = e.getResponseHeaders();
+            rateLimiter.onRateLimited(headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER));
+            return guarded(bulk, () -> fetch(url, maxItems));
+        }
+    }
+
+    // Only the fields mapped to a book are read from the response stream, the rest of the response is skipped.
+    // The transport decompresses gzip-encoded responses before they are parsed.
+    private GoogleBookResponse fetch(String url, int maxItems) {
+        return restTemplate.execute(url, HttpMethod.GET, request -> {
+                    request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                    request.getHeaders().set(HttpHeaders.USER_AGENT, USER_AGENT);
+                },
+                response -> ProviderResponseParsers.parseGoogleBooks(response.getBody(), maxItems));
     }
 
-    public GoogleBookResponse fetchBookByIsbn(String isbn) {
-        String url = baseUrl + "/books/v1/volumes?q=isbn:" + isbn + "&key=" + apiKey;
-        return restTemplate.getForObject(url, GoogleBookResponse.class);
+    // Calls are rejected straight away while the circuit breaker is open, before they use any quota or wait for
+    // the rate limiter. They then wait for their turn in the rate limiter and for a free slot in the bulkhead.
+    // The bulkhead comes last so calls waiting for a permit do not hold a slot, which would hold up single inserts
+    // behind bulk calls; a call the bulkhead rejects gives its permit and quota back.
+    private <T> T guarded(boolean bulk, Supplier<T> request) {
+        circuitBreaker.acquirePermission();
+        try {
+            rateLimiter.acquire(bulk);
+        } catch (RuntimeException e) {
+            // The call is never sent, so it counts neither as a success nor as a failure
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            rateLimiter.refund();
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            T result = request.get();
+            circuitBreaker.onResult(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(),
+                    result);
+            return result;
+        } catch (Exception e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
     }
 }
@@ -0,0 +1,213 @@
+package com.github.leo791.personal_library.client;
+
+import com.github.leo791.personal_library.exception.GoogleBooksQuotaException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Client-side limiter for the Google Books API key quota.
+ * Calls are spread with a token bucket of the configured rate and burst, and callers wait for their turn instead
+ * of getting a 429 from Google. Calls are also counted against the daily quota, which Google resets at midnight
+ * Pacific Time; once the daily budget is used up, calls are refused so books are looked up on Open Library instead.
+ * Bulk imports yield to interactive inserts: they are refused once the remaining budget falls to the reserve, and
+ * they only take a permit that is available right away. Interactive inserts reserve their permit in advance, so one
+ * arriving during an import waits at most for the permits already reserved by other interactive inserts.
+ * The remaining daily budget is published as the google.books.quota.remaining gauge.
+ */
+@Component
+public class GoogleBooksRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleBooksRateLimiter.class);
+    private final double permitsPerMilli;
+    private final double burst;
+    private final long requestsPerDay;
+    private final long bulkReserve;
+    private final Duration maxWait;
+    private final ZoneId quotaZone;
+    private final Clock clock;
+
+    // Guarded by this
+    private double storedPermits;
+    private long lastRefillMillis;
+    private long pausedUntilMillis;
+    private LocalDate quotaDay;
+    private long usedToday;
+
+    @Autowired
+    public GoogleBooksRateLimiter(@Value("${google.books.api.requests-per-second}") double requestsPerSecond,
+                                  @Value("${google.books.api.burst}") int burst,
+                                  @Value("${google.books.api.requests-per-day}") long requestsPerDay,
+                                  @Value("${google.books.api.bulk-daily-reserve}") long bulkReserve,
+                                  @Value("${google.books.api.max-rate-limit-wait}") Duration maxWait,
+                                  @Value("${google.books.api.quota-zone}") ZoneId quotaZone,
+                                  MeterRegistry meterRegistry) {
+        this(requestsPerSecond, burst, requestsPerDay, bulkReserve, maxWait, quotaZone, Clock.systemUTC());
+        Gauge.builder("google.books.quota.remaining", this, GoogleBooksRateLimiter::remainingToday)
+                .description("Google Books requests left in today's quota")
+                .register(meterRegistry);
+    }
+
+    GoogleBooksRateLimiter(double requestsPerSecond, int burst, long requestsPerDay, long bulkReserve,
+                           Duration maxWait, ZoneId quotaZone, Clock clock) {
+        this.permitsPerMilli = requestsPerSecond / 1000;
+        this.burst = burst;
+        this.requestsPerDay = requestsPerDay;
+        this.bulkReserve = bulkReserve;
+        this.maxWait = maxWait;
+        this.quotaZone = quotaZone;
+        this.clock = clock;
+        this.storedPermits = burst;
+        this.lastRefillMillis = clock.millis();
+        this.quotaDay = LocalDate.ofInstant(clock.instant(), quotaZone);
+    }
+
+    /**
+     * Waits until a call to Google Books may be sent.
+     * If the daily budget is used up, or the call would have to wait for longer than the maximum wait,
+     * a GoogleBooksQuotaException is thrown straight away.
+     *
+     * @param bulk whether the call is part of a bulk import, which leaves the end of the daily budget to single inserts
+     *             and gives way to them when permits are scarce
+     */
+    public void acquire(boolean bulk) {
+        if (!bulk) {
+            sleep(reserve());
+            return;
+        }
+        // Bulk calls never reserve a permit in advance, they wait until one is free and try again
+        long deadline = clock.millis() + maxWait.toMillis();
+        long retryMillis;
+        while ((retryMillis = tryTakeBulk(deadline)) > 0) {
+            sleep(retryMillis);
+        }
+    }
+
+    /**
+     * Stops sending calls to Google Books until the time given by a Retry-After header has passed.
+     * Without a usable header, calls are paused for one second.
+     *
+     * @param retryAfter the value of the Retry-After header of a 429 response, in seconds or as an HTTP date
+     */
+    public synchronized void onRateLimited(String retryAfter) {
+        long now = clock.millis();
+        Duration pause = parseRetryAfter(retryAfter, Instant.ofEpochMilli(now));
+        pausedUntilMillis = Math.max(pausedUntilMillis, now + pause.toMillis());
+        // The bucket starts empty again once the pause is over
+        storedPermits = Math.min(storedPermits, 0);
+        log.warn("Google Books rate limit reached, pausing calls for {} ms", pause.toMillis());
+    }
+
+    /**
+     * Gives back the permit and the daily quota taken by acquire, for a call that was never sent.
+     */
+    public synchronized void refund() {
+        storedPermits = Math.min(burst, storedPermits + 1);
+        rollQuotaDay();
+        usedToday = Math.max(0, usedToday - 1);
+    }
+
+    /** @return the number of Google Books requests left in today's quota */
+    public synchronized long remainingToday() {
+        rollQuotaDay();
+        return Math.max(0, requestsPerDay - usedToday);
+    }
+
+    // ================= Private Methods =================
+
+    // Takes a permit, possibly in advance, and returns how long the caller must wait before using it
+    private synchronized long reserve() {
+        checkDailyQuota(false);
+        long now = clock.millis();
+        long waitMillis = refill(now);
+        if (waitMillis > maxWait.toMillis()) {
+            throw new GoogleBooksQuotaException("Google Books rate limit would delay the call by " + waitMillis + " ms");
+        }
+        storedPermits -= 1;
+        usedToday++;
+        return waitMillis;
+    }
+
+    // Takes a permit only if one is free now, and otherwise returns how long to wait before trying again
+    private synchronized long tryTakeBulk(long deadline) {
+        checkDailyQuota(true);
+        long now = clock.millis();
+        long waitMillis = refill(now);
+        if (waitMillis == 0) {
+            storedPermits -= 1;
+            usedToday++;
+            return 0;
+        }
+        if (now + waitMillis > deadline) {
+            throw new GoogleBooksQuotaException("Google Books rate limit would delay the call by " + waitMillis + " ms");
+        }
+        return waitMillis;
+    }
+
+    private void checkDailyQuota(boolean bulk) {
+        rollQuotaDay();
+        long remaining = requestsPerDay - usedToday;
+        if (remaining <= 0) {
+            throw new GoogleBooksQuotaException("Google Books daily quota is used up");
+        }
+        if (bulk && remaining <= bulkReserve) {
+            throw new GoogleBooksQuotaException("Google Books daily quota is reserved for single inserts");
+        }
+    }
+
+    // Adds the permits earned since the last refill, and returns how long until a permit is free
+    private long refill(long now) {
+        storedPermits = Math.min(burst, storedPermits + (now - lastRefillMillis) * permitsPerMilli);
+        lastRefillMillis = now;
+        long waitMillis = storedPermits >= 1 ? 0 : (long) Math.ceil((1 - storedPermits) / permitsPerMilli);
+        return Math.max(waitMillis, pausedUntilMillis - now);
+    }
+
+    private static void sleep(long millis) {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GoogleBooksQuotaException("Interrupted while waiting for the Google Books rate limit");
+            }
+        }
+    }
+
+    private void rollQuotaDay() {
+        LocalDate today = LocalDate.ofInstant(clock.instant(), quotaZone);
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            usedToday = 0;
+        }
+    }
+
+    static Duration parseRetryAfter(String retryAfter, Instant now) {
+        if (retryAfter != null && !retryAfter.isBlank()) {
+            String value = retryAfter.trim();
+            try {
+                if (value.chars().allMatch(Character::isDigit)) {
+                    return Duration.ofSeconds(Long.parseLong(value));
+                }
+                Instant retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return retryAt.isAfter(now) ? Duration.between(now, retryAt) : Duration.ZERO;
+            } catch (NumberFormatException | DateTimeParseException e) {
+                log.warn("Ignoring invalid Retry-After header: {}", retryAfter);
+            }
+        }
+        return Duration.ofSeconds(1);
+    }
+}
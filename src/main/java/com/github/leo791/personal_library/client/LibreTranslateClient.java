@@ -1,69 +1,131 @@
 package com.github.leo791.personal_library.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.leo791.personal_library.client.ProviderResponseParsers.LibreTranslateResponse;
+import com.github.leo791.personal_library.config.ResilienceConfig;
+import com.github.leo791.personal_library.model.dto.TranslationResult;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Component
 public class LibreTranslateClient {
 
     private final String baseUrl;
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
-    public LibreTranslateClient(RestTemplate restTemplate, @Value("${libretranslate.api.base-url}") String baseUrl) {
+    public LibreTranslateClient(@Qualifier("libreTranslateRestTemplate") RestTemplate restTemplate,
+                                @Value("${libretranslate.api.base-url}") String baseUrl,
+                                CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
-        this.objectMapper = new ObjectMapper();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(ResilienceConfig.LIBRE_TRANSLATE);
+        this.bulkhead = bulkheadRegistry.bulkhead(ResilienceConfig.LIBRE_TRANSLATE);
     }
 
     public String translate(String text, String sourceLang, String targetLang) throws Exception {
-        String url = baseUrl + "/translate";
-        String body = "q=" + URLEncoder.encode(text, StandardCharsets.UTF_8) +
-                      "&source=" + URLEncoder.encode(sourceLang, StandardCharsets.UTF_8) +
-                      "&target=" + URLEncoder.encode(targetLang, StandardCharsets.UTF_8);
+        return postTranslate(text, sourceLang, targetLang).translatedTexts().getFirst();
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        HttpEntity<String> entity = new HttpEntity<>(body, headers);
+    /**
+     * Detects the language of the text and translates it in a single request, using source=auto.
+     * When the text is already in the target language, LibreTranslate returns it unchanged.
+     */
+    public TranslationResult translateAuto(String text, String targetLang) throws Exception {
+        LibreTranslateResponse response = postTranslate(text, "auto", targetLang);
+        return new TranslationResult(response.detectedLanguage(), response.translatedTexts().getFirst());
+    }
+
+    /**
+     * Translates several texts from the same source to the same target language in a single request,
+     * sending them as a JSON array of q values.
+     *
+     * @return the translated texts, in the same order as the given texts
+     */
+    public List<String> translateBatch(List<String> texts, String sourceLang, String targetLang) throws Exception {
+        String url = baseUrl + "/translate";
+        byte[] body = ProviderResponseParsers.writeLibreTranslateBatch(texts, sourceLang, targetLang);
 
-        ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
-        JsonNode jsonNode = objectMapper.readTree(response.getBody());
+        Reply reply = post(url, MediaType.APPLICATION_JSON, body, ProviderResponseParsers::parseLibreTranslate);
+        LibreTranslateResponse response = reply.response();
 
-        if (response.getStatusCode().is2xxSuccessful() && jsonNode.has("translatedText")) {
-                return jsonNode.get("translatedText").asText();
-        } else if (response.getStatusCode().is4xxClientError() && jsonNode.has("error")) {
-                throw new Exception(jsonNode.get("error").asText());
+        if (reply.status().is2xxSuccessful() && response.batch()
+                && response.translatedTexts().size() == texts.size()) {
+                return response.translatedTexts();
+        } else if (reply.status().is4xxClientError() && response.error() != null) {
+                throw new Exception(response.error());
         }
-        throw new Exception("Unexpected response from LibreTranslate: " + response.getBody());
+        throw new Exception("Unexpected response from LibreTranslate with status " + reply.status());
     }
 
     public String detect(String text) throws Exception {
         String url = baseUrl + "/detect";
         String body = "q=" + URLEncoder.encode(text, StandardCharsets.UTF_8);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-        HttpEntity<String> entity = new HttpEntity<>(body, headers);
+        Reply reply = post(url, MediaType.APPLICATION_FORM_URLENCODED, body.getBytes(StandardCharsets.UTF_8),
+                ProviderResponseParsers::parseLibreTranslateDetection);
+        LibreTranslateResponse response = reply.response();
+        if (reply.status().is2xxSuccessful() && response.detectedLanguage() != null) {
+                return response.detectedLanguage();
+        } else if (reply.status().is4xxClientError() && response.error() != null) {
+                 throw new Exception(response.error());
+        }
+        throw new Exception("Unexpected response from LibreTranslate with status " + reply.status());
+    }
+
+    private LibreTranslateResponse postTranslate(String text, String sourceLang, String targetLang) throws Exception {
+        String url = baseUrl + "/translate";
+        String body = "q=" + URLEncoder.encode(text, StandardCharsets.UTF_8) +
+                      "&source=" + URLEncoder.encode(sourceLang, StandardCharsets.UTF_8) +
+                      "&target=" + URLEncoder.encode(targetLang, StandardCharsets.UTF_8);
+
+        Reply reply = post(url, MediaType.APPLICATION_FORM_URLENCODED, body.getBytes(StandardCharsets.UTF_8),
+                ProviderResponseParsers::parseLibreTranslate);
+        LibreTranslateResponse response = reply.response();
 
-        ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
-        JsonNode jsonNode = objectMapper.readTree(response.getBody());
-        if (response.getStatusCode().is2xxSuccessful() && jsonNode.get(0).has("language")) {
-                return jsonNode.get(0).get("language").asText();
-        } else if (response.getStatusCode().is4xxClientError() && jsonNode.has("error")) {
-                 throw new Exception(jsonNode.get("error").asText());
+        if (reply.status().is2xxSuccessful() && response.translatedTexts() != null && !response.batch()) {
+                return response;
+        } else if (reply.status().is4xxClientError() && response.error() != null) {
+                throw new Exception(response.error());
         }
-        throw new Exception("Unexpected response from LibreTranslate: " + response.getBody());
+        throw new Exception("Unexpected response from LibreTranslate with status " + reply.status());
     }
 
+    // LibreTranslate runs on CPU, so only a few requests are sent to it at a time.
+    // Responses are parsed straight from the response stream, without reading them into a String first.
+    private Reply post(String url, MediaType contentType, byte[] body, ResponseParser parser) {
+        RequestCallback requestCallback = request -> {
+            request.getHeaders().setContentType(contentType);
+            request.getBody().write(body);
+        };
+        ResponseExtractor<Reply> responseExtractor = response ->
+                new Reply(response.getStatusCode(), parser.parse(response.getBody()));
+        return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead,
+                () -> restTemplate.execute(url, HttpMethod.POST, requestCallback, responseExtractor))).get();
+    }
 
+    @FunctionalInterface
+    private interface ResponseParser {
+        LibreTranslateResponse parse(InputStream body) throws IOException;
+    }
+
+    private record Reply(HttpStatusCode status, LibreTranslateResponse response) {
+    }
 }
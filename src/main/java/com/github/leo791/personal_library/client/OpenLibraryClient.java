@@ -1,51 +1,117 @@
 package com.github.leo791.personal_library.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.config.ResilienceConfig;
+import com.github.leo791.personal_library.model.entity.OpenLibraryBibkeysEntry;
 import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 @Component
 public class OpenLibraryClient {
 
+    private static final String BIBKEY_PREFIX = "ISBN:";
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(OpenLibraryClient.class);
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
     private final String baseUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Cache cache;
 
-    public OpenLibraryClient(RestTemplate restTemplate, @Value("${openlibrary.api.base-url}") String baseUrl) {
+    public OpenLibraryClient(@Qualifier("openLibraryRestTemplate") RestTemplate restTemplate,
+                             @Value("${openlibrary.api.base-url}") String baseUrl,
+                             CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                             CacheManager cacheManager) {
         this.baseUrl = baseUrl;
         this.restTemplate = restTemplate;
-        this.objectMapper = new ObjectMapper();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(ResilienceConfig.OPEN_LIBRARY);
+        this.bulkhead = bulkheadRegistry.bulkhead(ResilienceConfig.OPEN_LIBRARY);
+        this.cache = cacheManager.getCache(CacheConfig.OPEN_LIBRARY_BOOKS_CACHE);
     }
 
 
+    @Cacheable(cacheNames = CacheConfig.OPEN_LIBRARY_BOOKS_CACHE,
+            key = "T(com.github.leo791.personal_library.util.IsbnUtils).normalizeIsbn(#isbn)",
+            unless = "#result == null")
     public OpenLibraryBookResponse fetchBookByIsbn(String isbn) {
         String url = baseUrl + "/isbn/" + isbn + ".json";
         try {
-            return restTemplate.getForObject(url, OpenLibraryBookResponse.class);
+            return guarded(() -> restTemplate.getForObject(url, OpenLibraryBookResponse.class));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // Not wrapped, so callers can tell an unavailable API apart from a failed request
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Error fetching book with ISBN " + isbn + ": " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Fetches the editions of several ISBNs with a single request to the Books API, with their author names inline.
+     * Each edition found is put in the Open Library cache, so the following fetchBookByIsbn calls for its ISBN are
+     * served from the cache. ISBNs unknown to Open Library are left out, and go through fetchBookByIsbn as usual.
+     *
+     * @param isbns the normalized ISBNs to search for
+     * @return the edition of each ISBN found, whose authors have both their key and their name
+     */
+    public Map<String, OpenLibraryBookResponse> fetchBooksByIsbns(List<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Map.of();
+        }
+        String bibkeys = isbns.stream().map(isbn -> BIBKEY_PREFIX + isbn).collect(Collectors.joining(","));
+        String url = baseUrl + "/api/books?bibkeys=" + bibkeys + "&jscmd=details&format=json";
+        Map<String, OpenLibraryBibkeysEntry> entries = guarded(() -> restTemplate.exchange(url, HttpMethod.GET, null,
+                new ParameterizedTypeReference<Map<String, OpenLibraryBibkeysEntry>>() {}).getBody());
+
+        Map<String, OpenLibraryBookResponse> editions = new HashMap<>();
+        if (entries == null) {
+            return editions;
+        }
+        entries.forEach((bibkey, entry) -> {
+            if (bibkey.startsWith(BIBKEY_PREFIX) && entry != null && entry.getDetails() != null) {
+                editions.put(bibkey.substring(BIBKEY_PREFIX.length()), entry.getDetails());
+            }
+        });
+        editions.forEach(cache::put);
+        return editions;
+    }
+
     public String fetchAuthorByKey(String authorKey) throws Exception {
         String url = baseUrl + authorKey + ".json";
 
-        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-        log.info("Author response: {}", response.getBody());
-        JsonNode jsonNode = objectMapper.readTree(response.getBody());
+        // Only the name is read from the response stream, the rest of the author record is skipped
+        String name = guarded(() -> restTemplate.execute(url, HttpMethod.GET, null, response ->
+                response.getStatusCode().is2xxSuccessful()
+                        ? ProviderResponseParsers.parseAuthorName(response.getBody()) : null));
+        log.debug("Author {} resolved to {}", authorKey, name);
 
-        if (response.getStatusCode().is2xxSuccessful() && jsonNode.has("name")) {
-            return jsonNode.get("name").asText();
+        if (name != null) {
+            return name;
         } else  {
-            throw new RuntimeException("Error fetching author with code: " + response.getBody());
+            throw new RuntimeException("Error fetching author with code: " + authorKey);
         }
     }
-}
-
 
+    // Calls are rejected straight away while the circuit breaker is open, and wait for a free slot in the bulkhead
+    private <T> T guarded(Supplier<T> request) {
+        return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, request)).get();
+    }
+}
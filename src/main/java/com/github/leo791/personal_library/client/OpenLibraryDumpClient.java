@@ -0,0 +1,92 @@
+package com.github.leo791.personal_library.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Looks up Open Library editions in a local index built from the Open Library dumps by OpenLibraryDumpLoader.
+ * The index is memory-mapped at startup, and lookups answer without any network call, with the author names
+ * inline, so the Open Library fallback does not depend on openlibrary.org for the books the dumps contain.
+ * Without an index directory (openlibrary.dump.index-dir), or with an index that was not loaded completely,
+ * every lookup returns null and books are looked up on the Open Library API as before.
+ */
+@Component
+public class OpenLibraryDumpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenLibraryDumpClient.class);
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final DumpIndexReader editions;
+    private final DumpIndexReader authors;
+
+    public OpenLibraryDumpClient(@Value("${openlibrary.dump.index-dir}") String indexDirectory) throws IOException {
+        Path directory = indexDirectory.isBlank() ? null : Path.of(indexDirectory);
+        if (directory == null || !DumpIndexWriter.isComplete(directory, OpenLibraryDumpLoader.EDITIONS)) {
+            if (directory != null) {
+                log.warn("No complete Open Library editions index in {}, the Open Library API is used instead",
+                        directory);
+            }
+            this.editions = null;
+            this.authors = null;
+            return;
+        }
+        this.editions = new DumpIndexReader(directory, OpenLibraryDumpLoader.EDITIONS,
+                OpenLibraryDumpLoader.ISBN_KEY_WIDTH);
+        this.authors = DumpIndexWriter.isComplete(directory, OpenLibraryDumpLoader.AUTHORS)
+                ? new DumpIndexReader(directory, OpenLibraryDumpLoader.AUTHORS, OpenLibraryDumpLoader.AUTHOR_KEY_WIDTH)
+                : null;
+        log.info("Open Library dump index mapped from {}: {} ISBNs and {} authors", directory, editions.size(),
+                authors == null ? 0 : authors.size());
+    }
+
+    /**
+     * @return whether lookups are answered from a local index
+     */
+    public boolean isEnabled() {
+        return editions != null;
+    }
+
+    /**
+     * Fetches the edition of an ISBN from the local index.
+     * The authors of the edition have their name set when the authors dump was loaded too.
+     *
+     * @param isbn the ISBN to search for
+     * @return the edition, or null if the ISBN is not in the index or there is no index
+     */
+    public OpenLibraryBookResponse fetchBookByIsbn(String isbn) {
+        if (editions == null || isbn == null) {
+            return null;
+        }
+        byte[] record = editions.get(IsbnUtils.normalizeIsbn(isbn).toUpperCase());
+        if (record == null) {
+            return null;
+        }
+        try {
+            OpenLibraryBookResponse edition = objectMapper.readValue(record, OpenLibraryBookResponse.class);
+            if (authors != null && edition.getAuthors() != null) {
+                for (OpenLibraryBookResponse.AuthorKey author : edition.getAuthors()) {
+                    if (author.key != null && author.key.startsWith(OpenLibraryDumpLoader.AUTHOR_KEY_PREFIX)) {
+                        byte[] name = authors.get(author.key.substring(OpenLibraryDumpLoader.AUTHOR_KEY_PREFIX.length()));
+                        if (name != null) {
+                            author.setName(new String(name, StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+            }
+            return edition;
+        } catch (IOException e) {
+            log.error("Corrupt Open Library dump record for ISBN {}: {}", isbn, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.leo791.personal_library.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads Open Library data dumps into the local index read by OpenLibraryDumpClient.
+ * The dumps are the editions and authors files published at <a href="https://openlibrary.org/developers/dumps">...</a>,
+ * gzipped or not, with one record per line: type, key, revision, last modified date and the JSON record, separated
+ * by tabs. Editions are indexed by each of their ISBNs, keeping only the fields mapped to a book, and authors by
+ * their key, keeping only their name.
+ * Dumps are streamed line by line, so memory use does not depend on their size, and an interrupted load resumes
+ * from its last checkpoint when run again. A dump that was loaded completely is not loaded again.
+ * It runs outside the application, for instance from the packaged jar:
+ * java -cp personal-library.jar -Dloader.main=com.github.leo791.personal_library.client.OpenLibraryDumpLoader
+ * org.springframework.boot.loader.launch.PropertiesLauncher index-dir ol_dump_authors.txt.gz ol_dump_editions.txt.gz
+ */
+public class OpenLibraryDumpLoader {
+
+    static final String EDITIONS = "editions";
+    static final String AUTHORS = "authors";
+    static final int ISBN_KEY_WIDTH = 13;
+    static final int AUTHOR_KEY_WIDTH = 16;
+    static final String AUTHOR_KEY_PREFIX = "/authors/";
+
+    private static final int DEFAULT_RUN_SIZE = 500_000;
+    private static final int LOG_INTERVAL = 1_000_000;
+    private static final Logger log = LoggerFactory.getLogger(OpenLibraryDumpLoader.class);
+
+    private final Path indexDirectory;
+    private final int runSize;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    /**
+     * @param indexDirectory the directory the index is written to
+     * @param runSize        the number of keys sorted in memory at a time, and between two checkpoints
+     */
+    public OpenLibraryDumpLoader(Path indexDirectory, int runSize) {
+        this.indexDirectory = indexDirectory;
+        this.runSize = runSize;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: OpenLibraryDumpLoader <index-dir> <authors-dump> <editions-dump>");
+            System.exit(2);
+        }
+        OpenLibraryDumpLoader loader = new OpenLibraryDumpLoader(Path.of(args[0]), DEFAULT_RUN_SIZE);
+        loader.loadAuthors(Path.of(args[1]));
+        loader.loadEditions(Path.of(args[2]));
+    }
+
+    /**
+     * Loads an authors dump.
+     *
+     * @param dump the authors dump file
+     */
+    public void loadAuthors(Path dump) throws IOException {
+        try (BufferedReader lines = open(dump)) {
+            loadAuthors(lines);
+        }
+    }
+
+    /**
+     * Loads an editions dump.
+     *
+     * @param dump the editions dump file
+     */
+    public void loadEditions(Path dump) throws IOException {
+        try (BufferedReader lines = open(dump)) {
+            loadEditions(lines);
+        }
+    }
+
+    void loadAuthors(BufferedReader lines) throws IOException {
+        load(lines, AUTHORS, AUTHOR_KEY_WIDTH, "/type/author", (record, writer) -> {
+            JsonNode author = objectMapper.readTree(record);
+            String key = author.path("key").asText("");
+            String name = author.path("name").asText("");
+            if (!key.startsWith(AUTHOR_KEY_PREFIX) || name.isBlank()) {
+                return false;
+            }
+            long offset = writer.appendRecord(name.getBytes(StandardCharsets.UTF_8));
+            return writer.addKey(key.substring(AUTHOR_KEY_PREFIX.length()), offset);
+        });
+    }
+
+    void loadEditions(BufferedReader lines) throws IOException {
+        load(lines, EDITIONS, ISBN_KEY_WIDTH, "/type/edition", (record, writer) -> {
+            OpenLibraryBookResponse edition = objectMapper.readValue(record, OpenLibraryBookResponse.class);
+            List<String> isbns = new ArrayList<>();
+            addIsbns(isbns, edition.getIsbn10());
+            addIsbns(isbns, edition.getIsbn13());
+            if (isbns.isEmpty()) {
+                return false;
+            }
+            long offset = writer.appendRecord(objectMapper.writeValueAsBytes(edition));
+            boolean added = false;
+            for (String isbn : isbns) {
+                added |= writer.addKey(isbn, offset);
+            }
+            return added;
+        });
+    }
+
+    // ================= Private Methods =================
+
+    private void load(BufferedReader lines, String name, int keyWidth, String type, RecordLoader recordLoader)
+            throws IOException {
+        try (DumpIndexWriter writer = new DumpIndexWriter(indexDirectory, name, keyWidth, runSize)) {
+            if (writer.isComplete()) {
+                log.info("Open Library {} index is already loaded in {}", name, indexDirectory);
+                return;
+            }
+            long line = 0;
+            long skipped = 0;
+            long loaded = 0;
+            if (writer.resumedLines() > 0) {
+                log.info("Resuming Open Library {} load after {} lines", name, writer.resumedLines());
+            }
+            String text;
+            while ((text = lines.readLine()) != null) {
+                line++;
+                if (line <= writer.resumedLines()) {
+                    continue;
+                }
+                String[] columns = text.split("\t", 5);
+                boolean added = false;
+                if (columns.length == 5 && columns[0].equals(type)) {
+                    try {
+                        added = recordLoader.load(columns[4], writer);
+                    } catch (JsonProcessingException e) {
+                        log.debug("Skipping malformed Open Library {} record on line {}: {}", name, line,
+                                e.getMessage());
+                    }
+                }
+                if (added) {
+                    loaded++;
+                } else {
+                    skipped++;
+                }
+                writer.endLine(line);
+                if (line % LOG_INTERVAL == 0) {
+                    log.info("Open Library {} load: {} lines read", name, line);
+                }
+            }
+            writer.finish(line);
+            log.info("Open Library {} index loaded: {} records added and {} lines skipped", name, loaded, skipped);
+        }
+    }
+
+    private static void addIsbns(List<String> isbns, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values) {
+            String isbn = IsbnUtils.normalizeIsbn(value);
+            if (isbn != null && (isbn.length() == 10 || isbn.length() == 13)) {
+                isbns.add(isbn.toUpperCase());
+            }
+        }
+    }
+
+    private static BufferedReader open(Path dump) throws IOException {
+        InputStream in = Files.newInputStream(dump);
+        if (dump.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    @FunctionalInterface
+    private interface RecordLoader {
+        boolean load(String record, DumpIndexWriter writer) throws IOException;
+    }
+}
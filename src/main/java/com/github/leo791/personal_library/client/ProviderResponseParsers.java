@@ -0,0 +1,353 @@
+package com.github.leo791.personal_library.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parsers for the responses of the external APIs.
+ * Responses are read straight from the response stream with a Jackson JsonParser, keeping only the fields the
+ * application uses and skipping everything else, instead of reading the whole body into a String and a JsonNode tree.
+ * The JSON request body of LibreTranslate batches is written with the same factory.
+ */
+final class ProviderResponseParsers {
+
+    // Thread-safe, shared by every parser
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ProviderResponseParsers() {
+    }
+
+    /**
+     * Writes the body of a LibreTranslate batch request, with the texts as a JSON array of q values.
+     *
+     * @param texts the texts to translate
+     * @param sourceLang the language of the texts
+     * @param targetLang the language to translate them to
+     * @return the UTF-8 encoded JSON body
+     */
+    static byte[] writeLibreTranslateBatch(List<String> texts, String sourceLang, String targetLang) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(body)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("q");
+            for (String text : texts) {
+                generator.writeString(text);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("source", sourceLang);
+            generator.writeStringField("target", targetLang);
+            generator.writeEndObject();
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * Parses a Google Books volumes response.
+     * Only the first item is kept, as it is the only one mapped to a book, but totalItems is kept as sent.
+     *
+     * @param body the response stream
+     * @return the parsed response, or null if the body is empty
+     */
+    static GoogleBookResponse parseGoogleBooks(InputStream body) throws IOException {
+        return parseGoogleBooks(body, 1);
+    }
+
+    /**
+     * Parses a Google Books volumes response, keeping up to maxItems items.
+     *
+     * @param body     the response stream
+     * @param maxItems the number of items to keep, the following ones are skipped
+     * @return the parsed response, or null if the body is empty
+     */
+    static GoogleBookResponse parseGoogleBooks(InputStream body, int maxItems) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            expect(parser, JsonToken.START_OBJECT);
+            Integer totalItems = null;
+            List<GoogleBookResponse.Item> items = List.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "totalItems" -> totalItems = intValue(parser);
+                    case "items" -> items = items(parser, maxItems);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new GoogleBookResponse(totalItems, items);
+        }
+    }
+
+    /**
+     * Parses an Open Library author response.
+     *
+     * @param body the response stream
+     * @return the name of the author, or null if the response has none
+     */
+    static String parseAuthorName(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String name = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (field.equals("name")) {
+                    name = textValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return name;
+        }
+    }
+
+    /**
+     * Parses a LibreTranslate /translate response, for a single text or for a batch of texts.
+     *
+     * @param body the response stream
+     * @return the parsed response, with null fields for the ones the response does not have
+     */
+    static LibreTranslateResponse parseLibreTranslate(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            List<String> translatedTexts = null;
+            boolean batch = false;
+            String detectedLanguage = null;
+            String error = null;
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "translatedText" -> {
+                            batch = value == JsonToken.START_ARRAY;
+                            translatedTexts = batch ? stringList(parser) : singletonOrNull(textValue(parser));
+                        }
+                        case "detectedLanguage" -> detectedLanguage = detectedLanguage(parser);
+                        case "error" -> error = textValue(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+            return new LibreTranslateResponse(translatedTexts, batch, detectedLanguage, error);
+        }
+    }
+
+    /**
+     * Parses a LibreTranslate /detect response, which lists the candidate languages from the most likely one.
+     *
+     * @param body the response stream
+     * @return the parsed response, with the most likely language
+     */
+    static LibreTranslateResponse parseLibreTranslateDetection(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            String language = null;
+            String error = null;
+            if (token == JsonToken.START_ARRAY) {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.currentName();
+                        parser.nextToken();
+                        if (field.equals("language")) {
+                            language = textValue(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (field.equals("error")) {
+                        error = textValue(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return new LibreTranslateResponse(null, false, language, error);
+        }
+    }
+
+    /**
+     * The fields of a LibreTranslate response.
+     *
+     * @param translatedTexts  the translated texts, a single one unless the response is for a batch
+     * @param batch            whether the translated texts were sent as an array
+     * @param detectedLanguage the language detected by LibreTranslate
+     * @param error            the error message of a failed request
+     */
+    record LibreTranslateResponse(List<String> translatedTexts, boolean batch, String detectedLanguage,
+                                  String error) {
+    }
+
+    // ================= Private Methods =================
+
+    private static List<GoogleBookResponse.Item> items(JsonParser parser, int maxItems) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+        List<GoogleBookResponse.Item> items = new ArrayList<>(Math.min(maxItems, 8));
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (items.size() < maxItems && parser.currentToken() == JsonToken.START_OBJECT) {
+                items.add(item(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return items;
+    }
+
+    private static GoogleBookResponse.Item item(JsonParser parser) throws IOException {
+        GoogleBookResponse.VolumeInfo volumeInfo = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("volumeInfo") && parser.currentToken() == JsonToken.START_OBJECT) {
+                volumeInfo = volumeInfo(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new GoogleBookResponse.Item(volumeInfo);
+    }
+
+    private static GoogleBookResponse.VolumeInfo volumeInfo(JsonParser parser) throws IOException {
+        String title = null;
+        List<String> authors = null;
+        String publisher = null;
+        String publishedDate = null;
+        String mainCategory = null;
+        List<String> categories = null;
+        String description = null;
+        String language = null;
+        Integer pageCount = null;
+        List<GoogleBookResponse.IndustryIdentifier> industryIdentifiers = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "title" -> title = textValue(parser);
+                case "authors" -> authors = stringList(parser);
+                case "publisher" -> publisher = textValue(parser);
+                case "publishedDate" -> publishedDate = textValue(parser);
+                case "mainCategory" -> mainCategory = textValue(parser);
+                case "categories" -> categories = stringList(parser);
+                case "description" -> description = textValue(parser);
+                case "language" -> language = textValue(parser);
+                case "pageCount" -> pageCount = intValue(parser);
+                case "industryIdentifiers" -> industryIdentifiers = industryIdentifiers(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new GoogleBookResponse.VolumeInfo(title, authors, publisher, publishedDate, mainCategory, categories,
+                description, language, pageCount, industryIdentifiers);
+    }
+
+    private static List<GoogleBookResponse.IndustryIdentifier> industryIdentifiers(JsonParser parser)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<GoogleBookResponse.IndustryIdentifier> identifiers = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String type = null;
+            String identifier = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "type" -> type = textValue(parser);
+                    case "identifier" -> identifier = textValue(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            identifiers.add(new GoogleBookResponse.IndustryIdentifier(type, identifier));
+        }
+        return identifiers;
+    }
+
+    private static String detectedLanguage(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String language = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (field.equals("language")) {
+                language = textValue(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return language;
+    }
+
+    private static List<String> stringList(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String value = textValue(parser);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    // Text of a scalar value, objects and arrays are skipped
+    private static String textValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue() && parser.currentToken() != JsonToken.VALUE_NULL) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Integer intValue(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        String text = textValue(parser);
+        try {
+            return text == null ? null : Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static List<String> singletonOrNull(String value) {
+        return value == null ? null : List.of(value);
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new IOException("Expected " + token + " but found " + parser.currentToken());
+        }
+    }
+}
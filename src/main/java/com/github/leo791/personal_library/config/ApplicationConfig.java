@@ -1,13 +1,31 @@
 package com.github.leo791.personal_library.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
+    /**
+     * Executor for asynchronous book insert jobs, injected by name only.
+     * The queue is bounded so a scanning session cannot pile up unlimited work; once it is full,
+     * new jobs are rejected instead of being queued.
+     * Spring Boot backs off its own applicationTaskExecutor when any executor bean exists, so
+     * spring.task.execution.mode=force keeps it for the rest of the application.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public ThreadPoolTaskExecutor insertJobExecutor(@Value("${insert-jobs.executor.pool-size}") int poolSize,
+                                                    @Value("${insert-jobs.executor.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("insert-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
     }
-}
\ No newline at end of file
+}
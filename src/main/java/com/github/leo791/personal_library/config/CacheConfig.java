@@ -0,0 +1,51 @@
+package com.github.leo791.personal_library.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the in-process caches.
+ * Provider responses are cached as parsed payloads, keyed by normalized ISBN, so mapping changes still apply
+ * to cached entries. Statistics are recorded for every cache and published through the actuator metrics endpoint.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String GOOGLE_BOOKS_CACHE = "googleBooks";
+    public static final String OPEN_LIBRARY_BOOKS_CACHE = "openLibraryBooks";
+    public static final String UNKNOWN_ISBNS_CACHE = "unknownIsbns";
+    public static final String OPEN_LIBRARY_AUTHORS_CACHE = "openLibraryAuthors";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${provider-cache.maximum-size}") long maximumSize,
+                                     @Value("${provider-cache.ttl}") Duration ttl,
+                                     @Value("${provider-cache.negative-ttl}") Duration negativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below can be used, an unknown cache name fails instead of creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(GOOGLE_BOOKS_CACHE, boundedCache(maximumSize, ttl));
+        cacheManager.registerCustomCache(OPEN_LIBRARY_BOOKS_CACHE, boundedCache(maximumSize, ttl));
+        cacheManager.registerCustomCache(UNKNOWN_ISBNS_CACHE, boundedCache(maximumSize, negativeTtl));
+        cacheManager.registerCustomCache(OPEN_LIBRARY_AUTHORS_CACHE, boundedCache(maximumSize, ttl));
+        return cacheManager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> boundedCache(long maximumSize,
+                                                                                        Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.leo791.personal_library.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP transport used by the external API clients.
+ * Each provider gets its own pool of keep-alive connections, with its own connect and read timeouts, so a slow
+ * or hung provider cannot pin threads forever nor take connections from the others.
+ * Pool usage is published as httpcomponents.httpclient.pool.* metrics, tagged with the provider name.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    // Pooled connections idle for longer than this are closed, before the provider drops them on its side
+    private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+    @Bean
+    public RestTemplate googleBooksRestTemplate(MeterRegistry meterRegistry,
+                                                @Value("${google.books.api.connect-timeout}") Duration connectTimeout,
+                                                @Value("${google.books.api.read-timeout}") Duration readTimeout,
+                                                @Value("${google.books.api.max-connections}") int maxConnections) {
+        return pooledRestTemplate("googleBooks", meterRegistry, connectTimeout, readTimeout, maxConnections);
+    }
+
+    @Bean
+    public RestTemplate openLibraryRestTemplate(MeterRegistry meterRegistry,
+                                                @Value("${openlibrary.api.connect-timeout}") Duration connectTimeout,
+                                                @Value("${openlibrary.api.read-timeout}") Duration readTimeout,
+                                                @Value("${openlibrary.api.max-connections}") int maxConnections) {
+        return pooledRestTemplate("openLibrary", meterRegistry, connectTimeout, readTimeout, maxConnections);
+    }
+
+    @Bean
+    public RestTemplate libreTranslateRestTemplate(MeterRegistry meterRegistry,
+                                                   @Value("${libretranslate.api.connect-timeout}") Duration connectTimeout,
+                                                   @Value("${libretranslate.api.read-timeout}") Duration readTimeout,
+                                                   @Value("${libretranslate.api.max-connections}") int maxConnections) {
+        return pooledRestTemplate("libreTranslate", meterRegistry, connectTimeout, readTimeout, maxConnections);
+    }
+
+    /**
+     * Builds a RestTemplate backed by a pooled Apache HttpClient.
+     * Every client talks to a single host, so the whole pool is available to that host.
+     * Waiting for a free connection is bounded by the connect timeout, and waiting for a response by the read timeout.
+     *
+     * @param provider       the name of the provider, used to tag the pool metrics
+     * @param meterRegistry  the registry the pool metrics are bound to
+     * @param connectTimeout the maximum time to open a connection or lease one from the pool
+     * @param readTimeout    the maximum time without data from the provider once the request is sent
+     * @param maxConnections the maximum number of open connections to the provider
+     * @return the RestTemplate for the provider
+     */
+    static RestTemplate pooledRestTemplate(String provider, MeterRegistry meterRegistry, Duration connectTimeout,
+                                           Duration readTimeout, int maxConnections) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, provider).bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(MAX_IDLE_TIME))
+                .build();
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+}
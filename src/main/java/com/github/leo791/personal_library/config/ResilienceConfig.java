@@ -0,0 +1,108 @@
+package com.github.leo791.personal_library.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the circuit breakers and bulkheads guarding each external API.
+ * A circuit breaker opens once too many calls to its provider fail, and rejects calls straight away until the
+ * provider had time to recover. A bulkhead bounds the number of concurrent calls to its provider, and how long
+ * a caller waits for one of them, so an unhealthy provider cannot hold every request thread.
+ * State transitions are logged, and both are published as resilience4j.* metrics tagged with the provider name.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    public static final String GOOGLE_BOOKS = "googleBooks";
+    public static final String OPEN_LIBRARY = "openLibrary";
+    public static final String LIBRE_TRANSLATE = "libreTranslate";
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${circuit-breaker.failure-rate-threshold}") float failureRateThreshold,
+            @Value("${circuit-breaker.sliding-window-size}") int slidingWindowSize,
+            @Value("${circuit-breaker.minimum-number-of-calls}") int minimumNumberOfCalls,
+            @Value("${circuit-breaker.wait-duration-in-open-state}") Duration waitDurationInOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .recordException(ResilienceConfig::isProviderFailure)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        registry.getEventPublisher().onEntryAdded(event -> event.getAddedEntry().getEventPublisher()
+                .onStateTransition(transition -> log.warn("Circuit breaker of {} changed from {} to {}",
+                        transition.getCircuitBreakerName(),
+                        transition.getStateTransition().getFromState(),
+                        transition.getStateTransition().getToState())));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        // Creates the circuit breakers up front, so their metrics are published before the first call
+        registry.circuitBreaker(GOOGLE_BOOKS);
+        registry.circuitBreaker(OPEN_LIBRARY);
+        registry.circuitBreaker(LIBRE_TRANSLATE);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${google.books.api.max-concurrent-requests}") int googleBooksMaxConcurrentRequests,
+            @Value("${google.books.api.max-wait}") Duration googleBooksMaxWait,
+            @Value("${openlibrary.api.max-concurrent-requests}") int openLibraryMaxConcurrentRequests,
+            @Value("${openlibrary.api.max-wait}") Duration openLibraryMaxWait,
+            @Value("${libretranslate.api.max-concurrent-requests}") int libreTranslateMaxConcurrentRequests,
+            @Value("${libretranslate.api.max-wait}") Duration libreTranslateMaxWait) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        registry.bulkhead(GOOGLE_BOOKS, bulkheadConfig(googleBooksMaxConcurrentRequests, googleBooksMaxWait));
+        registry.bulkhead(OPEN_LIBRARY, bulkheadConfig(openLibraryMaxConcurrentRequests, openLibraryMaxWait));
+        registry.bulkhead(LIBRE_TRANSLATE,
+                bulkheadConfig(libreTranslateMaxConcurrentRequests, libreTranslateMaxWait));
+        return registry;
+    }
+
+    /**
+     * Checks whether an exception shows that the provider is unhealthy.
+     * Client errors are answers from a healthy provider, such as an unknown ISBN on Open Library or an unsupported
+     * language on LibreTranslate, so only rate limiting counts among them. A full bulkhead is load on our side,
+     * not a failure of the provider.
+     *
+     * @param e the exception thrown by the call
+     * @return true if the exception counts as a failure of the provider
+     */
+    static boolean isProviderFailure(Throwable e) {
+        if (e instanceof BulkheadFullException) {
+            return false;
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+
+    private static BulkheadConfig bulkheadConfig(int maxConcurrentCalls, Duration maxWait) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+    }
+}
@@ -1,10 +1,31 @@
 package com.github.leo791.personal_library.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BookPage;
+import com.github.leo791.personal_library.model.dto.BulkImportResponse;
+import com.github.leo791.personal_library.model.dto.ErrorResponse;
+import com.github.leo791.personal_library.model.dto.InsertJobDTO;
+import com.github.leo791.personal_library.service.BookExportService;
 import com.github.leo791.personal_library.service.BookService;
+import com.github.leo791.personal_library.service.BulkImportService;
+import com.github.leo791.personal_library.service.InsertJobService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Controller for managing book-related operations.
@@ -15,9 +36,22 @@ import org.springframework.web.bind.annotation.*;
 public class BookController {
 
     private final BookService bookService;
-
-    public BookController(BookService bookService) {
+    private final BulkImportService bulkImportService;
+    private final InsertJobService insertJobService;
+    private final BookExportService bookExportService;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exportPermits;
+
+    public BookController(BookService bookService, BulkImportService bulkImportService,
+                          InsertJobService insertJobService, BookExportService bookExportService,
+                          ObjectMapper objectMapper,
+                          @Value("${book-export.max-concurrent}") int maxConcurrentExports) {
         this.bookService = bookService;
+        this.bulkImportService = bulkImportService;
+        this.insertJobService = insertJobService;
+        this.bookExportService = bookExportService;
+        this.objectMapper = objectMapper;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
     }
 
     // ================= Insert / Update =================
@@ -35,6 +69,32 @@ public class BookController {
     }
 
 
+    /**
+     * This method handles POST requests to add a new book asynchronously.
+     * It expects an ISBN as a request parameter, which is validated before the job is accepted.
+     * It returns a 202 Accepted status with the job in the response body, and the job status URL in the Location header.
+     * @param isbn the ISBN (string) of the book to be added
+     */
+    @PostMapping("/async")
+    public ResponseEntity<InsertJobDTO> insertBookFromIsbnAsync(@RequestParam String isbn) {
+        InsertJobDTO job = insertJobService.submit(isbn);
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.getId())).body(job);
+    }
+
+
+    /**
+     * This method handles POST requests to add several books at once.
+     * It expects a JSON array of ISBNs in the request body, which are looked up concurrently.
+     * It returns a 200 OK status with the outcome for each ISBN, since some books may be created while others fail.
+     * @param isbns the ISBNs (strings) of the books to be added
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResponse> insertBooksFromIsbns(@RequestBody List<String> isbns) {
+        BulkImportResponse response = bulkImportService.importBooks(isbns);
+        return ResponseEntity.ok(response);
+    }
+
+
     /**
      * This method handles POST requests to manually create a new book.
      * It expects a JSON object in the request body, with the data to create the book.
@@ -77,21 +137,97 @@ public class BookController {
 
 
     /**
-     * This method handles GET requests to search for books by title, author, or genre.
-     * It returns a list of books that match the search criteria as a JSON array.
-     * If no search criteria are provided, it returns all books.
+     * This method handles GET requests to search for books by a full-text query, title, author, or genre.
+     * It returns a page of the books that match the search criteria as a JSON array.
+     * Full-text results are ranked by relevance, and the query takes precedence over the other criteria.
+     * If no search criteria are provided, it lists all books.
+     * When there are more books, the URL of the next page is returned in a Link header with rel="next",
+     * which repeats the search with the after cursor of the next page.
+     * @param q the full-text query over title, author, genre and description (optional)
      * @param title the title of the book to search for (optional)
      * @param author the author of the book to search for (optional)
      * @param genre the genre of the book to search for (optional)
-     * @return a list of books that match the search criteria, or an empty list if no books match
+     * @param limit the maximum number of books of the page (optional)
+     * @param after the cursor of the page, from the Link header of the previous one (optional)
+     * @return a page of books that match the search criteria, or an empty list if no books match
      */
 
     @GetMapping
-    public ResponseEntity<Iterable<BookDTO>> searchBooks(@RequestParam(required = false) String title,
-                                                         @RequestParam(required = false) String author,
-                                                         @RequestParam(required = false) String genre) {
-        Iterable<BookDTO> books = bookService.searchBooks(title, author, genre);
-        return ResponseEntity.ok(books);
+    public ResponseEntity<List<BookDTO>> searchBooks(@RequestParam(required = false) String q,
+                                                     @RequestParam(required = false) String title,
+                                                     @RequestParam(required = false) String author,
+                                                     @RequestParam(required = false) String genre,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String after) {
+        BookPage page = bookService.searchBooks(q, title, author, genre, limit, after);
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok(page.getBooks());
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", page.getNextCursor())
+                .build()
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page.getBooks());
+    }
+
+    /**
+     * This method handles GET requests to export the books matching a search, when application/x-ndjson is accepted.
+     * It takes the same search criteria as searchBooks, and streams every matching book, without pages,
+     * as one JSON object per line while they are read from the database.
+     * Each export holds a database connection until it ends, so only book-export.max-concurrent run at once;
+     * further ones are answered with a 503. Errors are written as a single ErrorResponse line.
+     * @param q the full-text query over title, author, genre and description (optional)
+     * @param title the title of the book to search for (optional)
+     * @param author the author of the book to search for (optional)
+     * @param genre the genre of the book to search for (optional)
+     * @return the matching books as newline-delimited JSON
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(required = false) String q,
+                                                             @RequestParam(required = false) String title,
+                                                             @RequestParam(required = false) String author,
+                                                             @RequestParam(required = false) String genre) {
+        // Checked before the response starts, so it is still answered with a 400
+        if (q != null && q.isBlank()) {
+            return exportError(HttpStatus.BAD_REQUEST,
+                    new ErrorResponse("Invalid argument", null, "Check the request parameters.", null));
+        }
+        if (!exportPermits.tryAcquire()) {
+            return exportError(HttpStatus.SERVICE_UNAVAILABLE,
+                    new ErrorResponse("Too many exports in progress", null, "Try again later.", null));
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                ObjectWriter writer = objectMapper.writerFor(BookDTO.class)
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                AtomicBoolean firstBook = new AtomicBoolean(true);
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                    bookExportService.exportBooks(q, title, author, genre, book -> {
+                        writer.writeValue(generator, book);
+                        generator.writeRaw('\n');
+                        // The first book is sent straight away, the next ones whenever the buffers fill up
+                        if (firstBook.getAndSet(false)) {
+                            generator.flush();
+                        }
+                    });
+                }
+            } finally {
+                exportPermits.release();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Export errors are written by hand as one NDJSON line, as no JSON converter produces application/x-ndjson
+    private ResponseEntity<StreamingResponseBody> exportError(HttpStatus status, ErrorResponse error) {
+        StreamingResponseBody body = outputStream -> {
+            outputStream.write(objectMapper.writeValueAsBytes(error));
+            outputStream.write('\n');
+        };
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     // ================= Delete =================
@@ -0,0 +1,33 @@
+package com.github.leo791.personal_library.controller;
+
+import com.github.leo791.personal_library.model.dto.InsertJobDTO;
+import com.github.leo791.personal_library.service.InsertJobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for polling asynchronous jobs.
+ * This class handles HTTP requests to retrieve the status of book insert jobs.
+ */
+@RestController
+@RequestMapping("api/v1/jobs")
+public class JobController {
+
+    private final InsertJobService insertJobService;
+
+    public JobController(InsertJobService insertJobService) {
+        this.insertJobService = insertJobService;
+    }
+
+    /**
+     * This method handles GET requests to retrieve a job by its id.
+     * It returns the job's status and, once finished, the inserted book or the reason it failed.
+     * @param id the id of the job to be retrieved
+     * @return the job object if found, or a 404 Not Found status if not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<InsertJobDTO> getJob(@PathVariable String id) {
+        InsertJobDTO job = insertJobService.getJob(id);
+        return ResponseEntity.ok(job);
+    }
+}
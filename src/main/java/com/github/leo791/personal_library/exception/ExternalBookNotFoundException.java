@@ -2,13 +2,32 @@ package com.github.leo791.personal_library.exception;
 
 public class ExternalBookNotFoundException extends RuntimeException {
     private final String isbn;
+    private final boolean cached;
 
     public ExternalBookNotFoundException(String isbn) {
+        this(isbn, false);
+    }
+
+    public ExternalBookNotFoundException(String isbn, Throwable cause) {
+        super("Book with ISBN " + isbn + " not found in external APIs", cause);
+        this.isbn = isbn;
+        this.cached = false;
+    }
+
+    /**
+     * @param cached whether the result was served from the negative cache, without querying the external APIs
+     */
+    public ExternalBookNotFoundException(String isbn, boolean cached) {
         super("Book with ISBN " + isbn + " not found in external APIs");
         this.isbn = isbn;
+        this.cached = cached;
     }
 
     public String getIsbn() {
         return isbn;
     }
+
+    public boolean isCached() {
+        return cached;
+    }
 }
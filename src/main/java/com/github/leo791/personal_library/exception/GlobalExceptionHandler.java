@@ -1,10 +1,14 @@
 package com.github.leo791.personal_library.exception;
 
 import com.github.leo791.personal_library.model.dto.ErrorResponse;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,9 +58,9 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ExternalBookNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleExternalBookNotFound(ExternalBookNotFoundException ex) {
-        log.warn("Book not found in external APIs: {}", ex.getMessage());
+        log.warn("Book not found in external APIs{}: {}", ex.isCached() ? " (cached result)" : "", ex.getMessage());
         ErrorResponse response = new ErrorResponse(
-                "Book not found in external APIs",
+                ex.isCached() ? "Book not found in external APIs (cached result)" : "Book not found in external APIs",
                 ex.getIsbn(),
                 "Add the book manually.",
                 Map.of("manualAdd", "/api/v1/books/manual")
@@ -64,6 +68,48 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobNotFoundException ex) {
+        log.warn("{}", ex.getMessage());
+        ErrorResponse response = new ErrorResponse(
+                ex.getMessage(),
+                null,
+                "Finished jobs expire, look up the book on the library instead.",
+                Map.of("searchBooks", "/api/v1/books")
+        );
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Insert job rejected: {}", ex.getMessage());
+        ErrorResponse response = new ErrorResponse(
+                "Too many pending insert jobs",
+                null,
+                "Try again later.",
+                null
+        );
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleProviderUnavailable(Exception ex) {
+        log.warn("External API unavailable: {}", ex.getMessage());
+        ErrorResponse response = new ErrorResponse(
+                "External API unavailable",
+                null,
+                "Try again later.",
+                null
+        );
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Clients that stop reading a streamed export; there is nobody left to answer
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientDisconnected(AsyncRequestNotUsableException ex) {
+        log.debug("Client disconnected: {}", ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneral(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
@@ -0,0 +1,8 @@
+package com.github.leo791.personal_library.exception;
+
+public class GoogleBooksQuotaException extends RuntimeException {
+
+    public GoogleBooksQuotaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.leo791.personal_library.exception;
+
+public class JobNotFoundException extends RuntimeException {
+    private final String jobId;
+
+    public JobNotFoundException(String jobId) {
+        super("Job with id " + jobId + " not found");
+        this.jobId = jobId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+}
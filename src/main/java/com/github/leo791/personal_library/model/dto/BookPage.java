@@ -0,0 +1,32 @@
+package com.github.leo791.personal_library.model.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a page of books returned by a search or listing.
+ * It contains the books of the page and the cursor of the next one, which is passed back as the after parameter.
+ */
+public class BookPage {
+
+    private final List<BookDTO> books;
+    private final String nextCursor;
+
+    /**
+     * Constructs a new BookPage.
+     *
+     * @param books      the books of the page, in the order of the search
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public BookPage(List<BookDTO> books, String nextCursor) {
+        this.books = books;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookDTO> getBooks() {
+        return books;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
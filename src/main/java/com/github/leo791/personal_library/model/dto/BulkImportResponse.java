@@ -0,0 +1,38 @@
+package com.github.leo791.personal_library.model.dto;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a bulk import, with one result per distinct ISBN in the order they were requested
+ * and a count of results per status.
+ */
+public class BulkImportResponse {
+    private List<BulkImportResult> results;
+
+    public BulkImportResponse() {
+    }
+
+    public BulkImportResponse(List<BulkImportResult> results) {
+        this.results = results;
+    }
+
+    public List<BulkImportResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkImportResult> results) {
+        this.results = results;
+    }
+
+    public Map<BulkImportResult.Status, Integer> getSummary() {
+        Map<BulkImportResult.Status, Integer> summary = new EnumMap<>(BulkImportResult.Status.class);
+        if (results != null) {
+            for (BulkImportResult result : results) {
+                summary.merge(result.getStatus(), 1, Integer::sum);
+            }
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.leo791.personal_library.model.dto;
+
+/**
+ * Outcome of importing a single ISBN as part of a bulk import.
+ * The book is only present when the status is CREATED, and the message only when something went wrong.
+ */
+public class BulkImportResult {
+
+    public enum Status {
+        CREATED,
+        EXISTS,
+        NOT_FOUND,
+        INVALID,
+        FAILED
+    }
+
+    private String isbn;
+    private Status status;
+    private BookDTO book;
+    private String message;
+
+    public BulkImportResult() {
+    }
+
+    /**
+     * Constructs a new BulkImportResult with the specified parameters.
+     *
+     * @param isbn    the ISBN as it was requested
+     * @param status  the outcome of the import
+     * @param book    the created book, or null if it was not created
+     * @param message a short explanation of the outcome, or null if the book was created
+     */
+    public BulkImportResult(String isbn, Status status, BookDTO book, String message) {
+        this.isbn = isbn;
+        this.status = status;
+        this.book = book;
+        this.message = message;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public BookDTO getBook() {
+        return book;
+    }
+
+    public void setBook(BookDTO book) {
+        this.book = book;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.leo791.personal_library.model.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) for an asynchronous book insert job.
+ * It contains the job id, the requested ISBN, the job status and, once the job is finished,
+ * either the inserted book or the reason it failed.
+ */
+public class InsertJobDTO {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private String id;
+    private String isbn;
+    private Status status;
+    private BookDTO book;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public InsertJobDTO() {
+    }
+
+    /**
+     * Constructs a new InsertJobDTO with the specified parameters.
+     *
+     * @param id        the id of the job
+     * @param isbn      the ISBN of the book to insert
+     * @param status    the status of the job
+     * @param book      the inserted book, or null if the job has not succeeded
+     * @param error     the reason the job failed, or null if it has not failed
+     * @param createdAt when the job was created
+     * @param updatedAt when the job status last changed
+     */
+    public InsertJobDTO(String id, String isbn, Status status, BookDTO book, String error,
+                        Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.isbn = isbn;
+        this.status = status;
+        this.book = book;
+        this.error = error;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public BookDTO getBook() {
+        return book;
+    }
+
+    public void setBook(BookDTO book) {
+        this.book = book;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
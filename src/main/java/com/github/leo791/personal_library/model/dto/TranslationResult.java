@@ -0,0 +1,30 @@
+package com.github.leo791.personal_library.model.dto;
+
+/**
+ * Data Transfer Object (DTO) for a LibreTranslate translation where the source language was auto-detected.
+ * It contains the language LibreTranslate detected and the translated text.
+ */
+public class TranslationResult {
+
+    private final String detectedLanguage;
+    private final String translatedText;
+
+    /**
+     * Constructs a new TranslationResult.
+     *
+     * @param detectedLanguage the detected language of the original text, or null if it was not returned
+     * @param translatedText   the translated text
+     */
+    public TranslationResult(String detectedLanguage, String translatedText) {
+        this.detectedLanguage = detectedLanguage;
+        this.translatedText = translatedText;
+    }
+
+    public String getDetectedLanguage() {
+        return detectedLanguage;
+    }
+
+    public String getTranslatedText() {
+        return translatedText;
+    }
+}
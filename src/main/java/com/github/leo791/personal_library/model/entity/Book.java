@@ -12,6 +12,10 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "books")
+// Maps the rows of a native query selecting the book columns and its rank, see BookRepository.searchFullText
+@SqlResultSetMapping(name = "Book.ranked",
+        entities = @EntityResult(entityClass = Book.class),
+        columns = @ColumnResult(name = "rank", type = Float.class))
 public class Book {
 
     @Id
@@ -1,51 +1,74 @@
 package com.github.leo791.personal_library.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 /**
  * Represents the response from the Google Books API.
  * This class contains a list of items, each representing a book with its details.
+ * Responses are immutable, so each lookup gets its own instance that can be safely shared between threads.
  * The following link provides more information about the Google Books API response structure:
  * <a href="https://developers.google.com/books/docs/v1/reference/volumes#resource-representations">...</a>
  */
-public class GoogleBookResponse {
-    private static Integer totalItems;
-    private static List<Item> items;
-
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class GoogleBookResponse {
+    private final Integer totalItems;
+    private final List<Item> items;
+
+    @JsonCreator
+    public GoogleBookResponse(@JsonProperty("totalItems") Integer totalItems,
+                              @JsonProperty("items") List<Item> items) {
+        this.totalItems = totalItems;
+        this.items = copyOf(items);
+    }
 
-    public static Integer getTotalItems() {
+    public Integer getTotalItems() {
         return totalItems;
     }
 
-    public void setTotalItems(Integer totalItems) {
-        GoogleBookResponse.totalItems = totalItems;
+    public List<Item> getItems() {
+        return items;
     }
 
-    public static List<Item> getItems() {
-        return items;
+    /**
+     * Checks if the response contains at least one book.
+     *
+     * @return true if there is at least one item, false otherwise
+     */
+    public boolean hasItems() {
+        return totalItems != null && totalItems > 0 && !items.isEmpty();
     }
 
-    public void setItems(List<Item> items) {
-        GoogleBookResponse.items = items;
+    // Null lists are kept as empty lists, and the copies cannot be modified
+    private static <T> List<T> copyOf(List<T> list) {
+        return list == null ? List.of() : List.copyOf(list);
     }
 
-    public static class Item {
-        private VolumeInfo volumeInfo;
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Item {
+        private final VolumeInfo volumeInfo;
 
-        public VolumeInfo getVolumeInfo() {
-            return volumeInfo;
+        @JsonCreator
+        public Item(@JsonProperty("volumeInfo") VolumeInfo volumeInfo) {
+            this.volumeInfo = volumeInfo;
         }
 
-        public void setVolumeInfo(VolumeInfo volumeInfo) {
-            this.volumeInfo = volumeInfo;
+        public VolumeInfo getVolumeInfo() {
+            return volumeInfo;
         }
     }
 
-    public static class IndustryIdentifier {
-        private String type;
-        private String identifier;
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class IndustryIdentifier {
+        private final String type;
+        private final String identifier;
 
-        public IndustryIdentifier(String type, String identifier) {
+        @JsonCreator
+        public IndustryIdentifier(@JsonProperty("type") String type,
+                                  @JsonProperty("identifier") String identifier) {
             this.type = type;
             this.identifier = identifier;
         }
@@ -53,108 +76,86 @@ public class GoogleBookResponse {
         public String getType() {
             return type;
         }
-        public void setType(String type) {
-            this.type = type;
-        }
+
         public String getIdentifier() {
             return identifier;
         }
-        public void setIdentifier(String identifier) {
-            this.identifier = identifier;
-        }
     }
 
-    public static class VolumeInfo {
-        private String title;
-        private List<String> authors;
-        private String publisher;
-        private String publishedDate;
-        private String mainCategory;
-        private List<String> categories;
-        private String description;
-        private String language;
-        private Integer pageCount;
-        private List<IndustryIdentifier> industryIdentifiers;
-
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class VolumeInfo {
+        private final String title;
+        private final List<String> authors;
+        private final String publisher;
+        private final String publishedDate;
+        private final String mainCategory;
+        private final List<String> categories;
+        private final String description;
+        private final String language;
+        private final Integer pageCount;
+        private final List<IndustryIdentifier> industryIdentifiers;
+
+        @JsonCreator
+        public VolumeInfo(@JsonProperty("title") String title,
+                          @JsonProperty("authors") List<String> authors,
+                          @JsonProperty("publisher") String publisher,
+                          @JsonProperty("publishedDate") String publishedDate,
+                          @JsonProperty("mainCategory") String mainCategory,
+                          @JsonProperty("categories") List<String> categories,
+                          @JsonProperty("description") String description,
+                          @JsonProperty("language") String language,
+                          @JsonProperty("pageCount") Integer pageCount,
+                          @JsonProperty("industryIdentifiers") List<IndustryIdentifier> industryIdentifiers) {
+            this.title = title;
+            this.authors = copyOf(authors);
+            this.publisher = publisher;
+            this.publishedDate = publishedDate;
+            this.mainCategory = mainCategory;
+            this.categories = copyOf(categories);
+            this.description = description;
+            this.language = language;
+            this.pageCount = pageCount;
+            this.industryIdentifiers = copyOf(industryIdentifiers);
+        }
 
         public String getTitle() {
             return title;
         }
 
-        public void setTitle(String title) {
-            this.title = title;
-        }
-
         public List<String> getAuthors() {
             return authors;
         }
 
-        public void setAuthors(List<String> authors) {
-            this.authors = authors;
-        }
-
         public String getPublisher() {
             return publisher;
         }
 
-        public void setPublisher(String publisher) {
-            this.publisher = publisher;
-        }
-
         public String getPublishedDate() {
             return publishedDate;
         }
 
-        public void setPublishedDate(String publishedDate) {
-            this.publishedDate = publishedDate;
-        }
-
         public String getMainCategory() {
             return mainCategory;
         }
 
-        public void setMainCategory(String mainCategory) {
-            this.mainCategory = mainCategory;
-        }
-
         public List<String> getCategories() {
             return categories;
         }
 
-        public void setCategories(List<String> categories) {
-            this.categories = categories;
-        }
-
         public String getDescription() {
             return description;
         }
 
-        public void setDescription(String description) {
-            this.description = description;
-        }
-
         public String getLanguage() {
             return language;
         }
 
-        public void setLanguage(String language) {
-            this.language = language;
-        }
-
         public Integer getPageCount() {
             return pageCount;
         }
 
-        public void setPageCount(Integer pageCount) {
-            this.pageCount = pageCount;
-        }
-
         public List<IndustryIdentifier> getIndustryIdentifiers() {
             return industryIdentifiers;
         }
-
-        public void setIndustryIdentifiers(List<IndustryIdentifier> industryIdentifiers) {
-            this.industryIdentifiers = industryIdentifiers;
-        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.github.leo791.personal_library.model.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Objects;
+
+/**
+ * Represents an Open Library author whose name has already been fetched.
+ * This class maps to a database table that caches author keys (e.g. /authors/OL23919A) and their names,
+ * so the author lookup survives restarts.
+ */
+@Entity
+@Table(name = "open_library_authors")
+public class OpenLibraryAuthor {
+
+    @Id
+    @Column(name = "author_key")
+    private String authorKey;
+
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public OpenLibraryAuthor() {
+    }
+
+    /**
+     * Constructs a new OpenLibraryAuthor entity.
+     *
+     * @param authorKey the Open Library author key
+     * @param name      the name of the author
+     */
+    public OpenLibraryAuthor(String authorKey, String name) {
+        this.authorKey = authorKey;
+        this.name = name;
+    }
+
+    public String getAuthorKey() {
+        return authorKey;
+    }
+
+    public void setAuthorKey(String authorKey) {
+        this.authorKey = authorKey;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        OpenLibraryAuthor author = (OpenLibraryAuthor) o;
+        return Objects.equals(authorKey, author.authorKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(authorKey);
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.leo791.personal_library.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Represents one edition in a response from the Open Library Books API, requested with jscmd=details.
+ * The response maps each requested bibkey, e.g. ISBN:9780441172719, to such an entry, and leaves out unknown ones.
+ * The details hold the edition record, as returned by /isbn/{isbn}.json, with the author names inline.
+ * The following link provides more information about the Books API:
+ * <a href="https://openlibrary.org/dev/docs/api/books">...</a>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OpenLibraryBibkeysEntry {
+
+    @JsonProperty("bib_key")
+    public String bibKey;
+
+    public OpenLibraryBookResponse details;
+
+    public String getBibKey() {
+        return bibKey;
+    }
+
+    public void setBibKey(String bibKey) {
+        this.bibKey = bibKey;
+    }
+
+    public OpenLibraryBookResponse getDetails() {
+        return details;
+    }
+
+    public void setDetails(OpenLibraryBookResponse details) {
+        this.details = details;
+    }
+}
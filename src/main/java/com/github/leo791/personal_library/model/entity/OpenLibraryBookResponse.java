@@ -111,10 +111,20 @@ public class OpenLibraryBookResponse {
 
     public static class AuthorKey {
         public String key;
+        // Only sent inline by the Books API (/api/books), edition records only have the key
+        public String name;
 
         public void setKey(String path) {
             this.key = path;
         }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
     }
 
     @Override
@@ -0,0 +1,93 @@
+package com.github.leo791.personal_library.model.entity;
+
+import jakarta.persistence.*;
+
+import java.util.Objects;
+
+/**
+ * Represents a description translated by LibreTranslate.
+ * This class maps to a database table that caches translations, identified by a SHA-256 hash
+ * of the source language, target language and original text.
+ */
+@Entity
+@Table(name = "translations")
+public class Translation {
+
+    @Id
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
+    @Column(name = "source_language", nullable = false, length = 8)
+    private String sourceLanguage;
+
+    @Column(name = "target_language", nullable = false, length = 8)
+    private String targetLanguage;
+
+    @Column(name = "translated_text", columnDefinition = "TEXT", nullable = false)
+    private String translatedText;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public Translation() {
+    }
+
+    /**
+     * Constructs a new Translation entity.
+     *
+     * @param textHash       the hash of the source language, target language and original text
+     * @param sourceLanguage the language of the original text
+     * @param targetLanguage the language of the translated text
+     * @param translatedText the translated text
+     */
+    public Translation(String textHash, String sourceLanguage, String targetLanguage, String translatedText) {
+        this.textHash = textHash;
+        this.sourceLanguage = sourceLanguage;
+        this.targetLanguage = targetLanguage;
+        this.translatedText = translatedText;
+    }
+
+    public String getTextHash() {
+        return textHash;
+    }
+
+    public void setTextHash(String textHash) {
+        this.textHash = textHash;
+    }
+
+    public String getSourceLanguage() {
+        return sourceLanguage;
+    }
+
+    public void setSourceLanguage(String sourceLanguage) {
+        this.sourceLanguage = sourceLanguage;
+    }
+
+    public String getTargetLanguage() {
+        return targetLanguage;
+    }
+
+    public void setTargetLanguage(String targetLanguage) {
+        this.targetLanguage = targetLanguage;
+    }
+
+    public String getTranslatedText() {
+        return translatedText;
+    }
+
+    public void setTranslatedText(String translatedText) {
+        this.translatedText = translatedText;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Translation translation = (Translation) o;
+        return Objects.equals(textHash, translation.textHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(textHash);
+    }
+}
@@ -1,10 +1,20 @@
 package com.github.leo791.personal_library.repository;
 
 import com.github.leo791.personal_library.model.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Book entities.
@@ -14,27 +24,196 @@ import java.util.List;
 public interface BookRepository extends JpaRepository<Book, Long> {
     /**
      * Finds books by their title.
+     * Matches lower(title) so the trigram index books_title_trgm_idx can be used (see the V3 migration),
+     * and escapes the wildcards of the search term.
+     *
+     * Results are ordered by id and paged from the last id of the previous page.
      *
      * @param title the title of the books to search for
-     * @return the book entities with the specified title, or null if not found
+     * @param after the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the book entities with the specified title, or an empty list if not found
      */
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    @Query("""
+            select b from Book b
+            where lower(b.title) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}
+            and b.id > :after
+            order by b.id
+            """)
+    List<Book> findByTitleContainingIgnoreCase(String title, @Param("after") long after, Limit limit);
 
     /**
      * Finds books by their author.
+     * Matches lower(author) so the trigram index books_author_trgm_idx can be used (see the V3 migration),
+     * and escapes the wildcards of the search term.
+     *
+     * Results are ordered by id and paged from the last id of the previous page.
      *
      * @param author the author of the books to search for
-     * @return the book entities with the specified author, or null if not found
+     * @param after the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the book entities with the specified author, or an empty list if not found
      */
-    List<Book> findByAuthorContainingIgnoreCase(String author);
+    @Query("""
+            select b from Book b
+            where lower(b.author) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}
+            and b.id > :after
+            order by b.id
+            """)
+    List<Book> findByAuthorContainingIgnoreCase(String author, @Param("after") long after, Limit limit);
 
     /**
      * Finds books by their genre.
+     * Matches lower(genre) so the trigram index books_genre_trgm_idx can be used (see the V3 migration),
+     * and escapes the wildcards of the search term.
+     *
+     * Results are ordered by id and paged from the last id of the previous page.
+     *
+     * @param genre the genre of the books to search for
+     * @param after the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the book entities with the specified genre, or an empty list if not found
+     */
+    @Query("""
+            select b from Book b
+            where lower(b.genre) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}
+            and b.id > :after
+            order by b.id
+            """)
+    List<Book> findByGenreContainingIgnoreCase(String genre, @Param("after") long after, Limit limit);
+
+    /**
+     * Full-text search over the title, author, genre and description of the books.
+     * Uses the search_vector column and its GIN index, maintained by Postgres with the text search configuration
+     * of the book's language (see the V2 migration). The index finds the books matching the query in any language,
+     * then each one is checked and ranked with the query parsed in its own language.
+     * Title matches rank above author, genre and description ones.
+     * Results are ordered by rank and id, and paged from the rank and id of the last book of the previous page.
+     *
+     * @param query the search terms, in web search syntax ("quoted phrases", or, -excluded)
+     * @param afterRank the rank of the last book of the previous page, infinity for the first page
+     * @param afterId the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the matching books with their ranks, best ranked first
+     */
+    default List<RankedBook> searchFullText(String query, float afterRank, long afterId, int limit) {
+        return searchFullTextRows(query, afterRank, afterId, limit).stream()
+                .map(row -> new RankedBook((Book) row[0], (Float) row[1]))
+                .toList();
+    }
+
+    /**
+     * Full-text search of searchFullText, each row holding the book and its rank (mapped by Book.ranked).
+     */
+    @NativeQuery(value = """
+            select b.*, rank from books b
+            cross join book_search_query(:query) candidates
+            cross join lateral websearch_to_tsquery(book_search_config(b.language), :query) q
+            cross join lateral ts_rank(b.search_vector, q) rank
+            where b.search_vector @@ candidates and b.search_vector @@ q
+            and (rank < :afterRank or (rank = :afterRank and b.id > :afterId))
+            order by rank desc, b.id
+            limit :limit
+            """, sqlResultSetMapping = "Book.ranked")
+    List<Object[]> searchFullTextRows(@Param("query") String query, @Param("afterRank") float afterRank,
+                                      @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * A book found by a full-text search, with its rank for the query.
+     *
+     * @param book the book
+     * @param rank the rank of the book, used to page from it
+     */
+    record RankedBook(Book book, float rank) {
+    }
+
+    /**
+     * Lists the books in id order, from the last id of the previous page, using the primary key index.
+     *
+     * @param after the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the books of the page
+     */
+    List<Book> findByIdGreaterThanOrderById(long after, Limit limit);
+
+    /**
+     * Rows fetched from the database at a time by the stream* queries, which read their results through a server-side
+     * cursor instead of loading them all at once.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Streams every book in id order, for exports. Must be consumed within a transaction, and books should be
+     * detached once written so the persistence context does not grow with the library.
+     *
+     * @return the books, read STREAM_FETCH_SIZE rows at a time
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select b from Book b order by b.id")
+    Stream<Book> streamAll();
+
+    /**
+     * Streams the books whose title contains the search term, ignoring case, in id order, as streamAll does.
+     *
+     * @param title the title of the books to search for
+     * @return the matching books, read STREAM_FETCH_SIZE rows at a time
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select b from Book b
+            where lower(b.title) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}
+            order by b.id
+            """)
+    Stream<Book> streamByTitleContainingIgnoreCase(String title);
+
+    /**
+     * Streams the books whose author contains the search term, ignoring case, in id order, as streamAll does.
+     *
+     * @param author the author of the books to search for
+     * @return the matching books, read STREAM_FETCH_SIZE rows at a time
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select b from Book b
+            where lower(b.author) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}
+            order by b.id
+            """)
+    Stream<Book> streamByAuthorContainingIgnoreCase(String author);
+
+    /**
+     * Streams the books whose genre contains the search term, ignoring case, in id order, as streamAll does.
      *
      * @param genre the genre of the books to search for
-     * @return the book entities with the specified genre, or null if not found
+     * @return the matching books, read STREAM_FETCH_SIZE rows at a time
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select b from Book b
+            where lower(b.genre) like lower(concat('%', :#{escape([0])}, '%')) escape :#{escapeCharacter()}
+            order by b.id
+            """)
+    Stream<Book> streamByGenreContainingIgnoreCase(String genre);
+
+    /**
+     * Streams the books matching a full-text query, best ranked first, as searchFullText and streamAll do.
+     *
+     * @param query the search terms, in web search syntax
+     * @return the matching books, read STREAM_FETCH_SIZE rows at a time
      */
-    List<Book> findByGenreContainingIgnoreCase(String genre);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(value = """
+            select b.* from books b
+            cross join book_search_query(:query) candidates
+            cross join lateral websearch_to_tsquery(book_search_config(b.language), :query) q
+            where b.search_vector @@ candidates and b.search_vector @@ q
+            order by ts_rank(b.search_vector, q) desc, b.id
+            """, nativeQuery = true)
+    Stream<Book> streamFullText(@Param("query") String query);
 
     /**
      * Finds a book by its ISBN.
@@ -52,6 +231,16 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     boolean existsByIsbn(String isbn);
 
+    /**
+     * Finds which of the given ISBNs already exist in the library.
+     * Lets bulk imports check a whole batch with a single query instead of one existsByIsbn per ISBN.
+     *
+     * @param isbns the ISBNs to check
+     * @return the subset of the given ISBNs that already exist
+     */
+    @Query("select b.isbn from Book b where b.isbn in :isbns")
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
     /**
      * Deletes a book by its ISBN.
      *
@@ -0,0 +1,13 @@
+package com.github.leo791.personal_library.repository;
+
+import com.github.leo791.personal_library.model.entity.OpenLibraryAuthor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing OpenLibraryAuthor entities.
+ * Entities are identified by their Open Library author key.
+ */
+@Repository
+public interface OpenLibraryAuthorRepository extends JpaRepository<OpenLibraryAuthor, String> {
+}
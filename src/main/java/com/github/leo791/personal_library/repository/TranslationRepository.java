@@ -0,0 +1,13 @@
+package com.github.leo791.personal_library.repository;
+
+import com.github.leo791.personal_library.model.entity.Translation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing Translation entities.
+ * Entities are identified by the hash of the source language, target language and original text.
+ */
+@Repository
+public interface TranslationRepository extends JpaRepository<Translation, String> {
+}
@@ -0,0 +1,86 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.OpenLibraryClient;
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.model.entity.OpenLibraryAuthor;
+import com.github.leo791.personal_library.repository.OpenLibraryAuthorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of Open Library author names, keyed by author key.
+ * Names are looked up in memory first, then in the database when persistence is enabled,
+ * and only fetched from Open Library for unknown keys. Fetched names are written through to both.
+ */
+@Component
+public class AuthorNameCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorNameCache.class);
+    private final OpenLibraryClient openLibraryClient;
+    private final OpenLibraryAuthorRepository authorRepository;
+    private final Cache cache;
+    private final boolean persistent;
+
+    public AuthorNameCache(OpenLibraryClient openLibraryClient, OpenLibraryAuthorRepository authorRepository,
+                           CacheManager cacheManager, @Value("${author-cache.persistent}") boolean persistent) {
+        this.openLibraryClient = openLibraryClient;
+        this.authorRepository = authorRepository;
+        this.cache = cacheManager.getCache(CacheConfig.OPEN_LIBRARY_AUTHORS_CACHE);
+        this.persistent = persistent;
+    }
+
+    /**
+     * Retrieves the name of an Open Library author.
+     *
+     * @param authorKey the Open Library author key, e.g. /authors/OL23919A
+     * @return the author name
+     */
+    public String getAuthorName(String authorKey) throws Exception {
+        String name = cache.get(authorKey, String.class);
+        if (name != null) {
+            return name;
+        }
+        if (persistent) {
+            name = authorRepository.findById(authorKey).map(OpenLibraryAuthor::getName).orElse(null);
+            if (name != null) {
+                cache.put(authorKey, name);
+                return name;
+            }
+        }
+
+        name = openLibraryClient.fetchAuthorByKey(authorKey);
+        store(authorKey, name);
+        return name;
+    }
+
+    /**
+     * Stores the name of an Open Library author obtained from another response, such as a batched edition lookup,
+     * so it is not fetched from Open Library later. Names already known are left untouched.
+     *
+     * @param authorKey the Open Library author key, e.g. /authors/OL23919A
+     * @param name      the author name
+     */
+    public void putAuthorName(String authorKey, String name) {
+        if (cache.get(authorKey) == null) {
+            store(authorKey, name);
+        }
+    }
+
+    // Writes the name through to memory and, when persistence is enabled, to the database
+    private void store(String authorKey, String name) {
+        cache.put(authorKey, name);
+        if (persistent) {
+            try {
+                authorRepository.save(new OpenLibraryAuthor(authorKey, name));
+            } catch (DataAccessException e) {
+                // Another import may have stored the same author, the name is still usable
+                log.warn("Failed to store author {}: {}", authorKey, e.getMessage());
+            }
+        }
+    }
+}
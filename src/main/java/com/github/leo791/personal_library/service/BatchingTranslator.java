@@ -0,0 +1,129 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.LibreTranslateClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translator that groups texts into batched LibreTranslate requests.
+ * Texts are collected per (source, target) language pair and sent together once the batch window has passed,
+ * or as soon as the batch reaches its maximum size or number of characters. A text that would take a batch past
+ * its number of characters starts the next one, and a single text longer than that is sent on its own.
+ * Each caller gets its own future, completed with its own translation. Used by bulk imports, where many descriptions are translated at once.
+ */
+@Component
+public class BatchingTranslator {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingTranslator.class);
+    private final LibreTranslateClient libreTranslateClient;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final int maxBatchChars;
+    private final Executor sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Guarded by itself
+    private final Map<String, Batch> pendingBatches = new HashMap<>();
+
+    public BatchingTranslator(LibreTranslateClient libreTranslateClient,
+                              @Value("${libretranslate.batch.window}") Duration window,
+                              @Value("${libretranslate.batch.max-size}") int maxBatchSize,
+                              @Value("${libretranslate.batch.max-chars}") int maxBatchChars) {
+        this.libreTranslateClient = libreTranslateClient;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchChars = maxBatchChars;
+    }
+
+    /**
+     * Queues a text to be translated in the next batch for its language pair.
+     *
+     * @param text       the text to translate
+     * @param sourceLang the language of the text
+     * @param targetLang the language to translate to
+     * @return a future completed with the translated text, or exceptionally if the batch request fails
+     */
+    public CompletableFuture<String> translate(String text, String sourceLang, String targetLang) {
+        String key = sourceLang.toLowerCase(Locale.ROOT) + "->" + targetLang.toLowerCase(Locale.ROOT);
+        CompletableFuture<String> translation = new CompletableFuture<>();
+        List<Batch> fullBatches = new ArrayList<>(2);
+        synchronized (pendingBatches) {
+            Batch batch = pendingBatches.get(key);
+            if (batch != null && batch.chars + text.length() > maxBatchChars) {
+                pendingBatches.remove(key);
+                fullBatches.add(batch);
+                batch = null;
+            }
+            if (batch == null) {
+                Batch newBatch = new Batch(sourceLang, targetLang);
+                pendingBatches.put(key, newBatch);
+                CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS, sendExecutor)
+                        .execute(() -> sendWhenDue(key, newBatch));
+                batch = newBatch;
+            }
+            batch.add(text, translation);
+            if (batch.texts.size() >= maxBatchSize || batch.chars >= maxBatchChars) {
+                pendingBatches.remove(key);
+                fullBatches.add(batch);
+            }
+        }
+        fullBatches.forEach(this::send);
+        return translation;
+    }
+
+    // ================= Private Methods =================
+
+    private void sendWhenDue(String key, Batch batch) {
+        synchronized (pendingBatches) {
+            // The batch may have been sent already because it filled up
+            if (!pendingBatches.remove(key, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        log.info("Translating batch of {} texts from {} to {}", batch.texts.size(), batch.sourceLang, batch.targetLang);
+        try {
+            List<String> translatedTexts = libreTranslateClient.translateBatch(batch.texts, batch.sourceLang,
+                    batch.targetLang);
+            for (int i = 0; i < batch.translations.size(); i++) {
+                batch.translations.get(i).complete(translatedTexts.get(i));
+            }
+        } catch (Exception e) {
+            log.error("Batch translation from {} to {} failed: {}", batch.sourceLang, batch.targetLang, e.getMessage());
+            batch.translations.forEach(translation -> translation.completeExceptionally(e));
+        }
+    }
+
+    private static final class Batch {
+        private final String sourceLang;
+        private final String targetLang;
+        private final List<String> texts = new ArrayList<>();
+        private final List<CompletableFuture<String>> translations = new ArrayList<>();
+        private int chars;
+
+        private Batch(String sourceLang, String targetLang) {
+            this.sourceLang = sourceLang;
+            this.targetLang = targetLang;
+        }
+
+        private void add(String text, CompletableFuture<String> translation) {
+            texts.add(text);
+            translations.add(translation);
+            chars += text.length();
+        }
+    }
+}
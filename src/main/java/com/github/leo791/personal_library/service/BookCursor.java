@@ -0,0 +1,50 @@
+package com.github.leo791.personal_library.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last book of a page, from which the next page starts.
+ * Title, author and genre searches and listings are ordered by id, so only the id is needed, while full-text
+ * searches are ordered by rank and then id. Clients get it as an opaque string.
+ *
+ * @param rank the full-text rank of the last book, or null for searches ordered by id
+ * @param id   the id of the last book
+ */
+record BookCursor(Float rank, long id) {
+
+    // Position before the first book
+    static final BookCursor START = new BookCursor(null, 0);
+
+    String encode() {
+        String position = rank == null ? Long.toString(id) : rank + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor returned with a previous page.
+     *
+     * @param cursor the cursor, or null for the first page
+     * @param ranked whether the cursor comes from a full-text search
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is not one of a search of this kind
+     */
+    static BookCursor decode(String cursor, boolean ranked) {
+        if (cursor == null) {
+            return ranked ? new BookCursor(Float.POSITIVE_INFINITY, 0) : START;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            if (ranked != (separator >= 0)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return ranked
+                    ? new BookCursor(Float.parseFloat(position.substring(0, separator)),
+                            Long.parseLong(position.substring(separator + 1)))
+                    : new BookCursor(null, Long.parseLong(position));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.entity.Book;
+import com.github.leo791.personal_library.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting all the books matching a search, one at a time, for streaming responses.
+ * Books are read from the database through a server-side cursor, BookRepository.STREAM_FETCH_SIZE rows at a time,
+ * and each one is handed to the writer and detached before the next one is read. The memory used does not depend
+ * on the number of books, and the first book is written as soon as the database returns it.
+ */
+@Service
+public class BookExportService {
+
+    /**
+     * Receives the exported books, in the order of the search.
+     */
+    @FunctionalInterface
+    public interface BookWriter {
+        void write(BookDTO book) throws IOException;
+    }
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+
+    public BookExportService(BookRepository bookRepository, BookMapper bookMapper, EntityManager entityManager) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Exports the books matching a full-text query, or else based on title, author, or genre.
+     * The search criteria work as in BookService.searchBooks, with every matching book and no pages:
+     * full-text results are ranked by relevance, other ones ordered by id, and all books are exported
+     * if no parameters are provided.
+     * @param query the full-text query (optional)
+     * @param title the title of the book to search for (optional)
+     * @param author the author of the book to search for (optional)
+     * @param genre the genre of the book to search for (optional)
+     * @param writer receives each matching book
+     * @throws IllegalArgumentException if the full-text query is blank
+     * @throws IOException if the writer fails, which stops the export
+     */
+    @Transactional(readOnly = true)
+    public void exportBooks(String query, String title, String author, String genre, BookWriter writer)
+            throws IOException {
+        try (Stream<Book> books = streamBooks(query, title, author, genre)) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                writer.write(bookMapper.bookToDto(book));
+                entityManager.detach(book);
+            }
+        }
+    }
+
+    private Stream<Book> streamBooks(String query, String title, String author, String genre) {
+        if (query != null) {
+            if (query.isBlank()) {
+                throw new IllegalArgumentException("Search query cannot be blank");
+            }
+            return bookRepository.streamFullText(query.strip());
+        } else if (title != null) {
+            return bookRepository.streamByTitleContainingIgnoreCase(title);
+        } else if (author != null) {
+            return bookRepository.streamByAuthorContainingIgnoreCase(author);
+        } else if (genre != null) {
+            return bookRepository.streamByGenreContainingIgnoreCase(genre);
+        }
+        return bookRepository.streamAll();
+    }
+}
@@ -73,13 +73,14 @@ public class BookMapper {
      * Makes use of utility methods to extract relevant fields from the response.
      *
      * @param googleBookResponse the GoogleBookResponse to convert
+     * @param isbn the ISBN to set on the Book entity
      * @return the converted Book entity, or null if the response has no items
      */
     public Book fromGoogleResponseToBook(GoogleBookResponse googleBookResponse, String isbn) {
-        if (GoogleBookResponse.getTotalItems() == 0) {
+        if (googleBookResponse == null || !googleBookResponse.hasItems()) {
             return null;
         }
-        GoogleBookResponse.Item item = GoogleBookResponse.getItems().getFirst();
+        GoogleBookResponse.Item item = googleBookResponse.getItems().getFirst();
         GoogleBookResponse.VolumeInfo volumeInfo = item.getVolumeInfo();
 
         String title = volumeInfo.getTitle();
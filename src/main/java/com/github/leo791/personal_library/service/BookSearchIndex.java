@@ -0,0 +1,276 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BookPage;
+import com.github.leo791.personal_library.model.entity.Book;
+import com.github.leo791.personal_library.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over the whole library, answering title, author and genre searches without a database
+ * round trip. Each field is case- and accent-folded and split into trigrams, each one with the books containing it,
+ * so a search only checks the books sharing the rarest trigram of the term. Searches keep the substring semantics
+ * of BookRepository, and also match regardless of accents. Matching books are served from the DTOs kept here.
+ * The index is built from the database once the application is ready, and BookService updates it after each write
+ * is committed. It is disabled by default (book-search.in-memory-index), and until it is built searches are
+ * answered by the database.
+ */
+@Component
+public class BookSearchIndex {
+
+    /**
+     * Fields of the books that can be searched.
+     */
+    public enum Field {
+        TITLE,
+        AUTHOR,
+        GENRE
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int GRAM = 3;
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock. Books by id, so results come in the same order as the database ones
+    private final NavigableMap<Long, IndexedBook> books = new TreeMap<>();
+    // Guarded by lock. Ids of the books containing each trigram, for each field, sorted so pages are read in id order
+    private final Map<Field, Map<String, NavigableSet<Long>>> postings = new EnumMap<>(Field.class);
+    private volatile boolean ready;
+
+    // The folded fields are indexed by Field ordinal, null when the book has no value for the field
+    private record IndexedBook(BookDTO book, String[] folded) {
+    }
+
+    public BookSearchIndex(BookRepository bookRepository, BookMapper bookMapper,
+                           @Value("${book-search.in-memory-index}") boolean enabled) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.enabled = enabled;
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Loads every book of the database into the index, once the application is ready.
+     * Writes committed meanwhile wait for the index to be built, so none of them is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            postings.values().forEach(Map::clear);
+            for (Book book : bookRepository.findAll()) {
+                add(book);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built with {} books in {} ms", books.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return whether searches can be answered by the index
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the books whose field contains the term, ignoring case and accents.
+     *
+     * @param field the field to search
+     * @param term the text to search for
+     * @param after the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the matching books, in id order
+     */
+    public BookPage search(Field field, String term, long after, int limit) {
+        String foldedTerm = fold(term);
+        lock.readLock().lock();
+        try {
+            Iterable<Long> candidates = books.tailMap(after, false).keySet();
+            if (foldedTerm.length() >= GRAM) {
+                NavigableSet<Long> rarest = null;
+                Map<String, NavigableSet<Long>> fieldPostings = postings.get(field);
+                for (int i = 0; i + GRAM <= foldedTerm.length(); i++) {
+                    NavigableSet<Long> ids = fieldPostings.get(foldedTerm.substring(i, i + GRAM));
+                    if (ids == null) {
+                        return new BookPage(List.of(), null);
+                    }
+                    if (rarest == null || ids.size() < rarest.size()) {
+                        rarest = ids;
+                    }
+                }
+                // Read lazily, a page only checks the candidates up to its last match
+                candidates = rarest.tailSet(after, false);
+            }
+            return page(candidates, field, foldedTerm, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the books of the library.
+     *
+     * @param after the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books to return
+     * @return the books of the page, in id order
+     */
+    public BookPage findAll(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(books.tailMap(after, false).keySet(), null, "", limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called with the read lock held. Every book matches when there is no field
+    private BookPage page(Iterable<Long> ids, Field field, String foldedTerm, int limit) {
+        List<BookDTO> page = new ArrayList<>();
+        long lastId = 0;
+        for (Long id : ids) {
+            IndexedBook book = books.get(id);
+            String value = field == null ? foldedTerm : book.folded()[field.ordinal()];
+            if (value != null && value.contains(foldedTerm)) {
+                if (page.size() == limit) {
+                    return new BookPage(page, new BookCursor(null, lastId).encode());
+                }
+                page.add(book.book());
+                lastId = id;
+            }
+        }
+        return new BookPage(page, null);
+    }
+
+    /**
+     * Adds a saved book to the index, or replaces its previous version, once the current transaction commits.
+     *
+     * @param book the saved book, with its id
+     */
+    public void put(Book book) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(book.getId());
+                add(book);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted book from the index, once the current transaction commits.
+     *
+     * @param book the deleted book, with its id
+     */
+    public void remove(Book book) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(book.getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Rolled back writes never reach the index
+    private void afterCommit(Runnable update) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    // Both called with the write lock held
+    private void add(Book book) {
+        String[] folded = new String[Field.values().length];
+        folded[Field.TITLE.ordinal()] = book.getTitle() == null ? null : fold(book.getTitle());
+        folded[Field.AUTHOR.ordinal()] = book.getAuthor() == null ? null : fold(book.getAuthor());
+        folded[Field.GENRE.ordinal()] = book.getGenre() == null ? null : fold(book.getGenre());
+        books.put(book.getId(), new IndexedBook(bookMapper.bookToDto(book), folded));
+        for (Field field : Field.values()) {
+            for (String gram : grams(folded[field.ordinal()])) {
+                postings.get(field).computeIfAbsent(gram, key -> new TreeSet<>()).add(book.getId());
+            }
+        }
+    }
+
+    private void remove(Long id) {
+        IndexedBook previous = books.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            Map<String, NavigableSet<Long>> fieldPostings = postings.get(field);
+            for (String gram : grams(previous.folded()[field.ordinal()])) {
+                NavigableSet<Long> ids = fieldPostings.get(gram);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String folded) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; folded != null && i + GRAM <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Lower case without accents, so "José" and "JOSE" are both indexed and searched as "jose"
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,9 +3,13 @@ package com.github.leo791.personal_library.service;
 import com.github.leo791.personal_library.client.GoogleBooksClient;
 import com.github.leo791.personal_library.client.LibreTranslateClient;
 import com.github.leo791.personal_library.client.OpenLibraryClient;
+import com.github.leo791.personal_library.client.OpenLibraryDumpClient;
 import com.github.leo791.personal_library.exception.BookExistsException;
 import com.github.leo791.personal_library.exception.ExternalBookNotFoundException;
+import com.github.leo791.personal_library.exception.GoogleBooksQuotaException;
 import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BookPage;
+import com.github.leo791.personal_library.model.dto.TranslationResult;
 import com.github.leo791.personal_library.model.entity.Book;
 import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
 import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
@@ -15,12 +19,32 @@ import com.github.leo791.personal_library.util.BookUtils;
 import com.github.leo791.personal_library.util.IsbnUtils;
 import com.github.leo791.personal_library.util.OpenLibraryResponseMapperUtils;
 import com.github.leo791.personal_library.util.TranslationUtils;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 /**
  * Service class for managing Book entities.
  * This class provides methods to interact with the BookRepository.
@@ -28,21 +52,92 @@ import java.util.List;
 @Service
 public class BookService {
 
+    /**
+     * How the external APIs are queried when inserting a book.
+     * SEQUENTIAL only queries Open Library after Google Books returns no results,
+     * PARALLEL queries both at once and HEDGED queries Open Library once Google Books has not answered
+     * within the hedge delay, or as soon as it returns no results. Google Books results are always preferred
+     * when present.
+     */
+    public enum LookupMode {
+        SEQUENTIAL,
+        PARALLEL,
+        HEDGED
+    }
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final GoogleBooksClient googleBooksClient;
     private final LibreTranslateClient libreTranslateClient;
     private final OpenLibraryClient openLibraryClient;
+    private final OpenLibraryDumpClient openLibraryDumpClient;
+    private final UnknownIsbnCache unknownIsbnCache;
+    private final AuthorNameCache authorNameCache;
+    private final TranslationCache translationCache;
+    private final LanguageDetector languageDetector;
+    private final BookSearchIndex bookSearchIndex;
+    private final boolean autoDetectTranslation;
+    private final LookupMode lookupMode;
+    private final Duration hedgeDelay;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Open Library lookup started alongside Google Books. The lookup runs once start completes,
+    // and never runs if start is cancelled first
+    private record OpenLibraryLookup(CompletableFuture<Void> start, CompletableFuture<Book> book) {
+    }
+
+    // Outcome of a Google Books lookup. The response is null when Google Books failed to answer,
+    // which is not the same as answering without items
+    private record GoogleBooksLookup(GoogleBookResponse response) {
+        boolean answered() {
+            return response != null;
+        }
+
+        boolean found() {
+            return response != null && response.hasItems();
+        }
+    }
+
+    // Inserts in progress, keyed by normalized ISBN
+    private final ConcurrentMap<String, CompletableFuture<BookDTO>> inFlightInserts = new ConcurrentHashMap<>();
     private static final Logger log = LoggerFactory.getLogger(BookService.class);
 
     public BookService(BookRepository bookRepository, BookMapper bookMapper,
                        GoogleBooksClient googleBooksClient, LibreTranslateClient libreTranslateClient,
-                       OpenLibraryClient openLibraryClient) {
+                       OpenLibraryClient openLibraryClient, OpenLibraryDumpClient openLibraryDumpClient,
+                       UnknownIsbnCache unknownIsbnCache,
+                       AuthorNameCache authorNameCache, TranslationCache translationCache,
+                       LanguageDetector languageDetector, BookSearchIndex bookSearchIndex,
+                       @Value("${libretranslate.api.auto-detect-translation}") boolean autoDetectTranslation,
+                       @Value("${book-lookup.mode}") LookupMode lookupMode,
+                       @Value("${book-lookup.hedge-delay}") Duration hedgeDelay,
+                       @Value("${book-search.default-page-size}") int defaultPageSize,
+                       @Value("${book-search.max-page-size}") int maxPageSize) {
         this.bookRepository = bookRepository;
         this.bookMapper = bookMapper;
         this.googleBooksClient = googleBooksClient;
         this.libreTranslateClient = libreTranslateClient;
         this.openLibraryClient = openLibraryClient;
+        this.openLibraryDumpClient = openLibraryDumpClient;
+        this.unknownIsbnCache = unknownIsbnCache;
+        this.authorNameCache = authorNameCache;
+        this.translationCache = translationCache;
+        this.languageDetector = languageDetector;
+        this.bookSearchIndex = bookSearchIndex;
+        this.autoDetectTranslation = autoDetectTranslation;
+        this.lookupMode = lookupMode;
+        this.hedgeDelay = hedgeDelay;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Stops the executor of the Open Library lookups, waiting for the ones in progress.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.close();
     }
 
     // ================= Insert / Update =================
@@ -51,51 +146,113 @@ public class BookService {
      * Inserts a new book entity into the repository using its ISBN.
      * If the book already exists, it throws a BookExistsException.
      * If the ISBN is invalid or the book is not found in Google Books API, it throws an appropriate exception.
+     * Concurrent inserts of the same ISBN are coalesced: only the first one looks the book up and saves it,
+     * the others wait for it and get a BookExistsException, or the same exception if it fails.
      *
      * @param isbn the ISBN of the book to insert
      * @return the inserted BookDTO
      */
     public BookDTO insertBookFromIsbn(String isbn) throws Exception {
-        Book book = null;
         // Validate the ISBN format
         if(!IsbnUtils.isValidIsbn(isbn)) {
             throw new IllegalArgumentException("Invalid ISBN: " + isbn);
         }
-        // Check if the book already exists in the repository
-        if (bookRepository.existsByIsbn(isbn.replace("-",""))) {
+        // Concurrent inserts of the same ISBN share one lookup and one save, the others are told the book exists
+        String normalizedIsbn = IsbnUtils.normalizeIsbn(isbn);
+        CompletableFuture<BookDTO> insert = new CompletableFuture<>();
+        CompletableFuture<BookDTO> inFlightInsert = inFlightInserts.putIfAbsent(normalizedIsbn, insert);
+        if (inFlightInsert != null) {
+            log.info("Insert of book with ISBN {} already in progress, waiting for it", isbn);
+            // Fails the same way as the insert in progress if it fails
+            awaitResult(inFlightInsert);
             throw new BookExistsException(isbn);
         }
+        try {
+            BookDTO book = insertNewBook(isbn);
+            insert.complete(book);
+            return book;
+        } catch (Throwable e) {
+            insert.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightInserts.remove(normalizedIsbn, insert);
+        }
+    }
+
+    /**
+     * Fetches a book from the external APIs and saves it in the repository.
+     * The ISBN is neither validated nor checked against the repository, callers are expected to have done both,
+     * as insertBookFromIsbn does for a single ISBN and the bulk import does for a whole batch.
+     * If the book is not found in any external API, it throws an ExternalBookNotFoundException.
+     * ISBNs that no external API knows about are remembered for a while, and fail without querying the APIs again.
+     *
+     * @param isbn the ISBN of the book to import
+     * @return the inserted BookDTO
+     */
+    public BookDTO importBookFromExternalApis(String isbn) throws Exception {
+        return importBookFromExternalApis(isbn, false);
+    }
+
+    /**
+     * Fetches a book from the external APIs and saves it in the repository, as importBookFromExternalApis(String) does.
+     * Bulk imports batch the description translations, so many descriptions are sent to LibreTranslate at once,
+     * and give way to single inserts when the Google Books quota is scarce.
+     *
+     * @param isbn         the ISBN of the book to import
+     * @param bulkImport   whether the book is imported as part of a bulk import
+     * @return the inserted BookDTO
+     */
+    public BookDTO importBookFromExternalApis(String isbn, boolean bulkImport) throws Exception {
+        if (unknownIsbnCache.isUnknown(isbn)) {
+            log.info("Book with ISBN {} is known to be missing from the external APIs", isbn);
+            throw new ExternalBookNotFoundException(isbn, true);
+        }
+        Book book = null;
+        // Start the Open Library lookup alongside Google Books, unless it should only be used as a fallback
+        OpenLibraryLookup openLibraryLookup = startOpenLibraryLookup(isbn);
+
         // Try to fetch the book from Google Books API
-        GoogleBookResponse googleBook = googleBooksClient.fetchBookByIsbn(isbn);
+        GoogleBooksLookup googleBook = searchBookOnGoogleBooks(isbn, bulkImport);
 
         // If book is found in Google Books API, map it to a Book entity
-        if (GoogleBookResponse.getTotalItems() != 0) {
+        if (googleBook.found()) {
             log.info("Book with ISBN {} found in Google Books API", isbn);
-            book = bookMapper.fromGoogleResponseToBook(googleBook, isbn);
+            if (openLibraryLookup != null) {
+                // Skips the Open Library lookup if the hedge delay has not elapsed yet
+                openLibraryLookup.start().cancel(false);
+            }
+            book = bookMapper.fromGoogleResponseToBook(googleBook.response(), isbn);
             BookUtils.capitalizeStringFields(book);
 
             // Check if description language matches the book language, if not translate it
-            String detectedLanguage = detectDescriptionLanguage(book.getDescription());
-            if (TranslationUtils.isTranslationRequired(detectedLanguage, book.getLanguage())) {
-                log.info("Translating description from {} to {}", detectedLanguage.toUpperCase(), book.getLanguage());
-                try {
-                    String translatedDescription = libreTranslateClient.translate(
-                            book.getDescription(), detectedLanguage, book.getLanguage());
-                    book.setDescription(translatedDescription);
-                } catch (Exception e) {
-                    log.error("Translation failed for ISBN {}: {}", isbn, e.getMessage());
-                    // Proceed with the original description if translation fails
+            translateDescription(book, isbn, bulkImport);
+            // If book is not found in Google Books API, use Open Library API
+        } else {
+            try {
+                if (openLibraryLookup != null) {
+                    log.warn("Book with ISBN {} not found in Google Books API. Using Open Library API lookup", isbn);
+                    // Starts the lookup now if it is still waiting for the hedge delay
+                    openLibraryLookup.start().complete(null);
+                    try {
+                        book = awaitResult(openLibraryLookup.book());
+                    } catch (ExternalBookNotFoundException e) {
+                        // Logged here rather than by the lookup, which did not know whether its result was needed
+                        log.error("Error fetching book with ISBN {} from Open Library API: {}", isbn,
+                                e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+                        throw e;
+                    }
+                } else {
+                    log.warn("Book with ISBN {} not found in Google Books API. Trying Open Library API", isbn);
+                    book = lookupOnOpenLibrary(isbn, false);
+                }
+            } catch (ExternalBookNotFoundException e) {
+                // Only remember ISBNs both APIs answered for, not ones either failed to answer because of an error,
+                // an open circuit breaker or an exhausted quota
+                if (googleBook.answered() && isNotFoundResponse(e.getCause())) {
+                    unknownIsbnCache.markUnknown(isbn);
                 }
-            } else {
-                log.info("No description translation required for book with ISBN {}", isbn);
+                throw e;
             }
-            // If book is not found in Google Books API, try Open Library API
-        } else {
-            log.warn("Book with ISBN {} not found in Google Books API. Trying Open Library API", isbn);
-            OpenLibraryBookResponse openLibraryBook = searchBookOnOpenLibrary(isbn);
-            String author = getAuthorFromOpenLibraryBook(openLibraryBook.getAuthors());
-            book = bookMapper.fromOpenLibraryResponseToBook(openLibraryBook, author, isbn);
-            BookUtils.capitalizeStringFields(book);
         }
 
         // Set the ISBN from the request so has to always use the provided one, this prevents saving isbn13 when isbn10 is provided and vice-versa
@@ -103,6 +260,7 @@ public class BookService {
 
         // Save the book entity
         bookRepository.save(book);
+        bookSearchIndex.put(book);
 
         // Return the saved book DTO
         return  bookMapper.bookToDto(book);
@@ -136,6 +294,7 @@ public class BookService {
 
         // Save the new book entity
         bookRepository.save(newBook);
+        bookSearchIndex.put(newBook);
 
         return bookMapper.bookToDto(newBook);
     }
@@ -170,6 +329,7 @@ public class BookService {
         BookUtils.capitalizeStringFields(existingBook);
 
         bookRepository.save(existingBook);
+        bookSearchIndex.put(existingBook);
 
         return bookMapper.bookToDto(existingBook);
     }
@@ -195,26 +355,81 @@ public class BookService {
     }
 
     /**
-     * Searches for books based on title, author, or genre.
-     * If no parameters are provided, it returns all books.
-     * If multiple parameters are provided, it prioritizes title > author > genre.
+     * Searches for books with a full-text query, or else based on title, author, or genre, one page at a time.
+     * If no parameters are provided, it lists all books.
+     * The full-text query matches words of the title, author, genre and description in any order,
+     * stemmed with the language of each book, and its results are ranked by relevance.
+     * Other searches are ordered by id. Pages are read from the position of the last book of the previous one
+     * (keyset pagination), so every book is returned once when paging through the library while it changes.
+     * If multiple parameters are provided, it prioritizes query > title > author > genre.
+     * Once the in-memory search index is built, title, author and genre searches are answered by it.
+     * @param query the full-text query (optional)
      * @param title the title of the book to search for (optional)
      * @param author the author of the book to search for (optional)
      * @param genre the genre of the book to search for (optional)
-     * @return a list of BookDTO objects that match the search criteria
+     * @param limit the maximum number of books of the page, the default page size if null, at most the maximum one
+     * @param after the cursor returned with the previous page, null for the first page
+     * @return the page of BookDTO objects that match the search criteria, with the cursor of the next page
+     * @throws IllegalArgumentException if the full-text query is blank, the limit is not positive or the cursor
+     * is not one of the same kind of search
      */
-    public List<BookDTO> searchBooks(String title, String author, String genre) {
+    public BookPage searchBooks(String query, String title, String author, String genre, Integer limit,
+                                String after) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.min(limit, maxPageSize);
+        if (query != null) {
+            if (query.isBlank()) {
+                throw new IllegalArgumentException("Search query cannot be blank");
+            }
+            String strippedQuery = query.strip();
+            BookCursor cursor = BookCursor.decode(after, true);
+            List<BookRepository.RankedBook> rankedBooks =
+                    bookRepository.searchFullText(strippedQuery, cursor.rank(), cursor.id(), pageSize + 1);
+            Float lastRank = rankedBooks.size() > pageSize ? rankedBooks.get(pageSize - 1).rank() : null;
+            return page(rankedBooks.stream().map(BookRepository.RankedBook::book).toList(), pageSize, lastRank);
+        }
+        long afterId = BookCursor.decode(after, false).id();
+        if (bookSearchIndex.isReady()) {
+            return searchIndex(title, author, genre, afterId, pageSize);
+        }
+        // One more book than the page size tells whether there is a next page
+        Limit pageLimit = Limit.of(pageSize + 1);
         List<Book> books;
         if (title != null) {
-            books = bookRepository.findByTitleContainingIgnoreCase(title);
+            books = bookRepository.findByTitleContainingIgnoreCase(title, afterId, pageLimit);
         } else if (author != null) {
-            books = bookRepository.findByAuthorContainingIgnoreCase(author);
+            books = bookRepository.findByAuthorContainingIgnoreCase(author, afterId, pageLimit);
         } else if (genre != null) {
-            books = bookRepository.findByGenreContainingIgnoreCase(genre);
+            books = bookRepository.findByGenreContainingIgnoreCase(genre, afterId, pageLimit);
         } else {
-            books = bookRepository.findAll();
+            books = bookRepository.findByIdGreaterThanOrderById(afterId, pageLimit);
+        }
+        return page(books, pageSize, null);
+    }
+
+    private BookPage searchIndex(String title, String author, String genre, long afterId, int pageSize) {
+        if (title != null) {
+            return bookSearchIndex.search(BookSearchIndex.Field.TITLE, title, afterId, pageSize);
+        } else if (author != null) {
+            return bookSearchIndex.search(BookSearchIndex.Field.AUTHOR, author, afterId, pageSize);
+        } else if (genre != null) {
+            return bookSearchIndex.search(BookSearchIndex.Field.GENRE, genre, afterId, pageSize);
+        }
+        return bookSearchIndex.findAll(afterId, pageSize);
+    }
+
+    // The books beyond the page size only tell there is a next page. Full-text searches also need the rank of its
+    // last book to position the next page
+    private BookPage page(List<Book> books, int pageSize, Float lastRank) {
+        if (books.size() <= pageSize) {
+            return new BookPage(bookMapper.bookListToDtoList(books), null);
         }
-        return bookMapper.bookListToDtoList(books);
+        List<Book> page = books.subList(0, pageSize);
+        Book last = page.getLast();
+        BookCursor next = new BookCursor(lastRank, last.getId());
+        return new BookPage(bookMapper.bookListToDtoList(page), next.encode());
     }
 
     // ================= Delete =================
@@ -234,15 +449,92 @@ public class BookService {
             throw new DatabaseBookNotFoundException(isbn);
         }
         bookRepository.deleteByIsbn(isbn);
+        bookSearchIndex.remove(book);
+    }
+
+    /**
+     * Looks up a batch of ISBNs on the external APIs ahead of their bulk import, with a single request to each.
+     * The batch is looked up on Google Books first, and the ISBNs it does not find on Open Library, whose response
+     * carries the author names inline. Books found are cached by the clients and author names by the author cache,
+     * so importing them does not call the external APIs again, while the other ISBNs are looked up one by one when
+     * they are imported. Failures are only logged, as every ISBN still goes through the usual lookup.
+     *
+     * @param isbns the normalized ISBNs about to be imported
+     */
+    public void prefetchFromExternalApis(List<String> isbns) {
+        List<String> lookups = isbns.stream().filter(isbn -> !unknownIsbnCache.isUnknown(isbn)).toList();
+        if (lookups.isEmpty()) {
+            return;
+        }
+        Set<String> foundOnGoogle = Set.of();
+        try {
+            foundOnGoogle = googleBooksClient.fetchBooksByIsbns(lookups, true).keySet();
+            log.info("{} of {} ISBNs found in Google Books API with a batched lookup", foundOnGoogle.size(),
+                    lookups.size());
+        } catch (CallNotPermittedException | BulkheadFullException | GoogleBooksQuotaException e) {
+            log.warn("Google Books API unavailable for batched lookup of {} ISBNs: {}", lookups.size(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error fetching {} ISBNs from Google Books API: {}", lookups.size(), e.getMessage());
+        }
+
+        // ISBNs in the local Open Library index are answered from it when they are imported
+        Set<String> found = foundOnGoogle;
+        List<String> misses = lookups.stream()
+                .filter(isbn -> !found.contains(isbn) && openLibraryDumpClient.fetchBookByIsbn(isbn) == null)
+                .toList();
+        if (misses.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, OpenLibraryBookResponse> editions = openLibraryClient.fetchBooksByIsbns(misses);
+            editions.values().forEach(this::storeInlineAuthorNames);
+            log.info("{} of {} ISBNs found in Open Library API with a batched lookup", editions.size(), misses.size());
+        } catch (RuntimeException e) {
+            log.warn("Error fetching {} ISBNs from Open Library API: {}", misses.size(), e.getMessage());
+        }
     }
 
     // ================= Private Methods =================
 
+   private void translateDescription(Book book, String isbn, boolean batchTranslation) {
+       String description = book.getDescription();
+       if (description == null || description.isBlank()) {
+           log.warn("Description is empty or null, cannot detect language.");
+           return;
+       }
+       // Detect the language locally, LibreTranslate is only asked when the local detector is not confident
+       Optional<String> localLanguage = languageDetector.detect(description);
+       if (localLanguage.isEmpty() && autoDetectTranslation && book.getLanguage() != null) {
+           // Let LibreTranslate detect and translate in one request, instead of sending the description twice
+           try {
+               TranslationResult result = translationCache.translateAuto(description, book.getLanguage());
+               log.info("Description of book with ISBN {} detected as {} by LibreTranslate", isbn,
+                       result.getDetectedLanguage());
+               book.setDescription(result.getTranslatedText());
+           } catch (Exception e) {
+               log.error("Translation failed for ISBN {}: {}", isbn, e.getMessage());
+               // Proceed with the original description if translation fails
+           }
+           return;
+       }
+
+       String detectedLanguage = localLanguage.orElseGet(() -> detectDescriptionLanguage(description));
+       if (TranslationUtils.isTranslationRequired(detectedLanguage, book.getLanguage())) {
+           log.info("Translating description from {} to {}", detectedLanguage.toUpperCase(), book.getLanguage());
+           try {
+               String translatedDescription = translationCache.translate(
+                       description, detectedLanguage, book.getLanguage(), batchTranslation);
+               book.setDescription(translatedDescription);
+           } catch (Exception e) {
+               log.error("Translation failed for ISBN {}: {}", isbn, e.getMessage());
+               // Proceed with the original description if translation fails
+           }
+       } else {
+           log.info("No description translation required for book with ISBN {}", isbn);
+       }
+   }
+
    private String detectDescriptionLanguage(String description) {
-         if (description == null || description.isBlank()) {
-              log.warn("Description is empty or null, cannot detect language.");
-              return "unknown";
-         }
        try {
            return libreTranslateClient.detect(description);
        } catch (Exception e) {
@@ -251,24 +543,129 @@ public class BookService {
        }
    }
 
-   private OpenLibraryBookResponse searchBookOnOpenLibrary(String isbn) {
+   private OpenLibraryLookup startOpenLibraryLookup(String isbn) {
+       CompletableFuture<Void> start = switch (lookupMode) {
+           case SEQUENTIAL -> null;
+           case PARALLEL -> CompletableFuture.completedFuture(null);
+           case HEDGED -> new CompletableFuture<Void>().completeOnTimeout(null, hedgeDelay.toMillis(), TimeUnit.MILLISECONDS);
+       };
+       if (start == null) {
+           return null;
+       }
+       CompletableFuture<Book> book = start.thenApplyAsync(ignored -> {
+           try {
+               return lookupOnOpenLibrary(isbn, true);
+           } catch (RuntimeException e) {
+               throw e;
+           } catch (Exception e) {
+               throw new CompletionException(e);
+           }
+       }, lookupExecutor);
+       return new OpenLibraryLookup(start, book);
+   }
+
+   private BookDTO insertNewBook(String isbn) throws Exception {
+       // Check if the book already exists in the repository
+       if (bookRepository.existsByIsbn(isbn.replace("-",""))) {
+           throw new BookExistsException(isbn);
+       }
+       try {
+           return importBookFromExternalApis(isbn);
+       } catch (DataIntegrityViolationException e) {
+           // The book was inserted by another instance of the application after the check
+           log.warn("Book with ISBN {} was inserted concurrently: {}", isbn, e.getMessage());
+           throw new BookExistsException(isbn);
+       }
+   }
+
+   private static <T> T awaitResult(CompletableFuture<T> future) throws Exception {
+       try {
+           return future.get();
+       } catch (ExecutionException e) {
+           // Rethrow what the lookup or insert threw, so waiting callers fail the same way
+           if (e.getCause() instanceof Exception cause) {
+               throw cause;
+           }
+           throw e;
+       }
+   }
+
+   // Speculative lookups run alongside Google Books, and their result is discarded when Google Books finds the book
+   private Book lookupOnOpenLibrary(String isbn, boolean speculative) throws Exception {
+       OpenLibraryBookResponse openLibraryBook = searchBookOnOpenLibrary(isbn, speculative);
+       String author = getAuthorFromOpenLibraryBook(openLibraryBook.getAuthors());
+       Book book = bookMapper.fromOpenLibraryResponseToBook(openLibraryBook, author, isbn);
+       BookUtils.capitalizeStringFields(book);
+       return book;
+   }
+
+   // Google Books failures, including calls refused by its circuit breaker or quota, fall back to Open Library
+   private GoogleBooksLookup searchBookOnGoogleBooks(String isbn, boolean bulkImport) {
+       try {
+           return new GoogleBooksLookup(googleBooksClient.fetchBookByIsbn(isbn, bulkImport));
+       } catch (CallNotPermittedException | BulkheadFullException | GoogleBooksQuotaException e) {
+           log.warn("Google Books API unavailable for ISBN {}: {}", isbn, e.getMessage());
+           return new GoogleBooksLookup(null);
+       } catch (RuntimeException e) {
+           log.error("Error fetching book with ISBN {} from Google Books API: {}", isbn, e.getMessage());
+           return new GoogleBooksLookup(null);
+       }
+   }
+
+   private OpenLibraryBookResponse searchBookOnOpenLibrary(String isbn, boolean speculative) {
+       // The local index of the Open Library dumps is tried first, it already has the author names
+       OpenLibraryBookResponse localBook = openLibraryDumpClient.fetchBookByIsbn(isbn);
+       if (localBook != null) {
+           log.info("Book with ISBN {} found in local Open Library index", isbn);
+           storeInlineAuthorNames(localBook);
+           return localBook;
+       }
        try {
            OpenLibraryBookResponse openLibraryBook = openLibraryClient.fetchBookByIsbn(isbn);
            log.info("Book with ISBN {} found in Open Library API", isbn);
            return openLibraryBook;
+       } catch (CallNotPermittedException | BulkheadFullException e) {
+           // The book may well exist, so it is neither reported as not found nor remembered as unknown
+           log.warn("Open Library API unavailable for ISBN {}: {}", isbn, e.getMessage());
+           throw e;
        } catch (Exception e) {
-           log.error("Error fetching book with ISBN {} from Open Library API: {}", isbn, e.getMessage());
-           throw new ExternalBookNotFoundException(isbn);
+           if (speculative) {
+               log.debug("Error fetching book with ISBN {} from Open Library API: {}", isbn, e.getMessage());
+           } else {
+               log.error("Error fetching book with ISBN {} from Open Library API: {}", isbn, e.getMessage());
+           }
+           throw new ExternalBookNotFoundException(isbn, e);
+       }
+   }
+
+   private boolean isNotFoundResponse(Throwable e) {
+       for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+           if (cause instanceof HttpClientErrorException clientError
+                   && clientError.getStatusCode() == HttpStatus.NOT_FOUND) {
+               return true;
+           }
        }
+       return false;
    }
 
+    private void storeInlineAuthorNames(OpenLibraryBookResponse edition) {
+        if (edition.getAuthors() == null) {
+            return;
+        }
+        for (OpenLibraryBookResponse.AuthorKey author : edition.getAuthors()) {
+            if (author.key != null && author.getName() != null && !author.getName().isBlank()) {
+                authorNameCache.putAuthorName(author.key, author.getName());
+            }
+        }
+    }
+
     private String getAuthorFromOpenLibraryBook(List<OpenLibraryBookResponse.AuthorKey> authors) throws Exception {
         String author = OpenLibraryResponseMapperUtils.extractFirstAuthor(authors);
         if (author.isBlank()) {
             log.warn("Author is not provided by Open Library API");
             return "";
         } else {
-            return openLibraryClient.fetchAuthorByKey(author);
+            return authorNameCache.getAuthorName(author);
         }
     }
 }
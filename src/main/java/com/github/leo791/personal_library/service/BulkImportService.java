@@ -0,0 +1,173 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.GoogleBooksClient;
+import com.github.leo791.personal_library.exception.ExternalBookNotFoundException;
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BulkImportResponse;
+import com.github.leo791.personal_library.model.dto.BulkImportResult;
+import com.github.leo791.personal_library.model.dto.BulkImportResult.Status;
+import com.github.leo791.personal_library.repository.BookRepository;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Service class for importing many books at once from their ISBNs.
+ * Each ISBN goes through the same external API pipeline as a single insert, but the ISBNs are
+ * checked against the repository with a single query and looked up concurrently on virtual threads.
+ * The number of imports in flight is bounded, so the ISBNs of a large import queue here rather than in the
+ * bulkheads of the external API clients, which only let callers wait for a short time.
+ * ISBNs are looked up on Google Books and Open Library in batches first, so most books are found with a fraction
+ * of the requests.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+    private final BookService bookService;
+    private final BookRepository bookRepository;
+    private final int maxIsbns;
+    private final Semaphore importPermits;
+    private final int lookupBatchSize;
+
+    public BulkImportService(BookService bookService, BookRepository bookRepository,
+                             @Value("${bulk-import.max-isbns}") int maxIsbns,
+                             @Value("${bulk-import.max-concurrent-imports}") int maxConcurrentImports,
+                             @Value("${bulk-import.lookup-batch-size}") int lookupBatchSize) {
+        this.bookService = bookService;
+        this.bookRepository = bookRepository;
+        this.maxIsbns = maxIsbns;
+        this.importPermits = new Semaphore(maxConcurrentImports);
+        this.lookupBatchSize = Math.clamp(lookupBatchSize, 1, GoogleBooksClient.MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Imports the books with the given ISBNs.
+     * ISBNs are normalized and de-duplicated, and the result of each distinct ISBN is returned in request order,
+     * with the ISBN as it was first requested so clients can match results to their input.
+     * A failure on one ISBN never fails the whole import, it is reported in that ISBN's result instead.
+     *
+     * @param isbns the ISBNs of the books to import
+     * @return the outcome of the import for each distinct ISBN
+     */
+    public BulkImportResponse importBooks(List<String> isbns) {
+        if (isbns == null || isbns.isEmpty()) {
+            throw new IllegalArgumentException("At least one ISBN must be provided in the bulk import request.");
+        }
+        if (isbns.size() > maxIsbns) {
+            throw new IllegalArgumentException("Bulk import is limited to " + maxIsbns + " ISBNs per request.");
+        }
+
+        // Normalize and de-duplicate the ISBNs, keeping the request order and the ISBN first requested for each
+        Map<String, BulkImportResult> results = new LinkedHashMap<>();
+        Map<String, String> requestedIsbns = new LinkedHashMap<>();
+        List<String> candidates = new ArrayList<>();
+        for (String isbn : isbns) {
+            String normalizedIsbn = IsbnUtils.normalizeIsbn(isbn);
+            if (results.containsKey(normalizedIsbn)) {
+                continue;
+            }
+            requestedIsbns.put(normalizedIsbn, isbn);
+            if (!IsbnUtils.isValidIsbn(normalizedIsbn)) {
+                results.put(normalizedIsbn, new BulkImportResult(isbn, Status.INVALID, null, "Invalid ISBN: " + isbn));
+            } else {
+                results.put(normalizedIsbn, null);
+                candidates.add(normalizedIsbn);
+            }
+        }
+
+        // Check the whole batch against the repository with a single query
+        Set<String> existingIsbns = candidates.isEmpty() ? Set.of() : bookRepository.findExistingIsbns(candidates);
+
+        List<String> newIsbns = new ArrayList<>();
+        for (String isbn : candidates) {
+            if (existingIsbns.contains(isbn)) {
+                results.put(isbn, new BulkImportResult(requestedIsbns.get(isbn), Status.EXISTS, null,
+                        "Book with ISBN " + isbn + " already exists in Library"));
+            } else {
+                newIsbns.add(isbn);
+            }
+        }
+
+        Map<String, Future<BulkImportResult>> imports = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int from = 0; from < newIsbns.size(); from += lookupBatchSize) {
+                List<String> batch = newIsbns.subList(from, Math.min(from + lookupBatchSize, newIsbns.size()));
+                // The books of a batch are imported once the batch has been looked up on the external APIs
+                CompletableFuture<Void> prefetch = lookupBatchSize > 1
+                        ? CompletableFuture.runAsync(() -> bookService.prefetchFromExternalApis(batch), executor)
+                        : CompletableFuture.completedFuture(null);
+                for (String isbn : batch) {
+                    String requestedIsbn = requestedIsbns.get(isbn);
+                    imports.put(isbn, executor.submit(() -> {
+                        awaitPrefetch(prefetch);
+                        return importBook(isbn, requestedIsbn);
+                    }));
+                }
+            }
+        } // Closing the executor waits for every import to finish
+
+        imports.forEach((isbn, future) -> results.put(isbn, getResult(requestedIsbns.get(isbn), future)));
+        log.info("Bulk import of {} ISBNs finished", results.size());
+        return new BulkImportResponse(new ArrayList<>(results.values()));
+    }
+
+    // ================= Private Methods =================
+
+    // The book is looked up by its normalized ISBN, and the result reports the ISBN as it was requested
+    private BulkImportResult importBook(String isbn, String requestedIsbn) {
+        importPermits.acquireUninterruptibly();
+        try {
+            BookDTO book = bookService.importBookFromExternalApis(isbn, true);
+            return new BulkImportResult(requestedIsbn, Status.CREATED, book, null);
+        } catch (ExternalBookNotFoundException e) {
+            return new BulkImportResult(requestedIsbn, Status.NOT_FOUND, null, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // The book was inserted by another request after the batch was checked
+            return new BulkImportResult(requestedIsbn, Status.EXISTS, null,
+                    "Book with ISBN " + isbn + " already exists in Library");
+        } catch (Exception e) {
+            log.error("Bulk import failed for ISBN {}: {}", isbn, e.getMessage());
+            return new BulkImportResult(requestedIsbn, Status.FAILED, null, e.getMessage());
+        } finally {
+            importPermits.release();
+        }
+    }
+
+    // A failed batched lookup only means the books of the batch are looked up one by one
+    private void awaitPrefetch(CompletableFuture<Void> prefetch) {
+        try {
+            prefetch.join();
+        } catch (CompletionException | CancellationException e) {
+            log.warn("Batched lookup failed: {}", e.getMessage());
+        }
+    }
+
+    private BulkImportResult getResult(String isbn, Future<BulkImportResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BulkImportResult(isbn, Status.FAILED, null, "Import was interrupted");
+        } catch (ExecutionException e) {
+            return new BulkImportResult(isbn, Status.FAILED, null, e.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.exception.BookExistsException;
+import com.github.leo791.personal_library.exception.ExternalBookNotFoundException;
+import com.github.leo791.personal_library.exception.JobNotFoundException;
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.InsertJobDTO;
+import com.github.leo791.personal_library.model.dto.InsertJobDTO.Status;
+import com.github.leo791.personal_library.repository.BookRepository;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for inserting books asynchronously.
+ * The ISBN is validated when the job is submitted, while the external API lookup, translation and save
+ * run on the insert job executor. Jobs are kept in memory and finished jobs are forgotten after the retention period:
+ * they can no longer be retrieved, and are removed from memory by a periodic cleanup.
+ */
+@Service
+public class InsertJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(InsertJobService.class);
+    private final BookService bookService;
+    private final BookRepository bookRepository;
+    private final TaskExecutor insertJobExecutor;
+    private final Duration retention;
+    private final Clock clock;
+    private final Map<String, InsertJobDTO> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InsertJobService(BookService bookService, BookRepository bookRepository,
+                            @Qualifier("insertJobExecutor") TaskExecutor insertJobExecutor,
+                            @Value("${insert-jobs.retention}") Duration retention) {
+        this(bookService, bookRepository, insertJobExecutor, retention, Clock.systemUTC());
+    }
+
+    InsertJobService(BookService bookService, BookRepository bookRepository, TaskExecutor insertJobExecutor,
+                     Duration retention, Clock clock) {
+        this.bookService = bookService;
+        this.bookRepository = bookRepository;
+        this.insertJobExecutor = insertJobExecutor;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Submits a job to insert the book with the given ISBN.
+     * If the ISBN is invalid, it throws an IllegalArgumentException.
+     * If the book already exists, it throws a BookExistsException.
+     * If the executor queue is full, it throws a TaskRejectedException.
+     *
+     * @param isbn the ISBN of the book to insert
+     * @return the pending job
+     */
+    public InsertJobDTO submit(String isbn) {
+        // Validate the ISBN format
+        if (!IsbnUtils.isValidIsbn(isbn)) {
+            throw new IllegalArgumentException("Invalid ISBN: " + isbn);
+        }
+        // Fail fast if the book already exists, the job checks again before inserting
+        if (bookRepository.existsByIsbn(IsbnUtils.normalizeIsbn(isbn))) {
+            throw new BookExistsException(isbn);
+        }
+        removeExpiredJobs();
+
+        Instant now = clock.instant();
+        InsertJobDTO job = new InsertJobDTO(UUID.randomUUID().toString(), isbn, Status.PENDING, null, null, now, now);
+        jobs.put(job.getId(), job);
+        try {
+            insertJobExecutor.execute(() -> run(job.getId(), isbn));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        log.info("Insert job {} submitted for ISBN {}", job.getId(), isbn);
+        return job;
+    }
+
+    /**
+     * Retrieves an insert job by its id.
+     * If the job does not exist or has expired, it throws a JobNotFoundException.
+     *
+     * @param id the id of the job
+     * @return the job
+     */
+    public InsertJobDTO getJob(String id) {
+        InsertJobDTO job = jobs.get(id);
+        if (job == null || isExpired(job, clock.instant().minus(retention))) {
+            throw new JobNotFoundException(id);
+        }
+        return job;
+    }
+
+    /**
+     * Removes the finished jobs older than the retention period.
+     * Runs periodically, so they are forgotten even when no new jobs are submitted.
+     */
+    @Scheduled(fixedDelayString = "${insert-jobs.cleanup-interval}")
+    public void removeExpiredJobs() {
+        Instant expiry = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> isExpired(job, expiry));
+    }
+
+    // ================= Private Methods =================
+
+    private void run(String id, String isbn) {
+        update(id, Status.RUNNING, null, null);
+        try {
+            BookDTO book = bookService.insertBookFromIsbn(isbn);
+            update(id, Status.SUCCEEDED, book, null);
+        } catch (IllegalArgumentException | BookExistsException | ExternalBookNotFoundException e) {
+            log.warn("Insert job {} failed: {}", id, e.getMessage());
+            update(id, Status.FAILED, null, e.getMessage());
+        } catch (Exception e) {
+            log.error("Insert job {} failed unexpectedly: {}", id, e.getMessage(), e);
+            update(id, Status.FAILED, null, "An unexpected error occurred");
+        }
+    }
+
+    // Jobs are replaced rather than modified, so readers always see a consistent snapshot
+    private void update(String id, Status status, BookDTO book, String error) {
+        jobs.computeIfPresent(id, (key, job) -> new InsertJobDTO(job.getId(), job.getIsbn(), status, book, error,
+                job.getCreatedAt(), clock.instant()));
+    }
+
+    private static boolean isExpired(InsertJobDTO job, Instant expiry) {
+        return (job.getStatus() == Status.SUCCEEDED || job.getStatus() == Status.FAILED)
+                && job.getUpdatedAt().isBefore(expiry);
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.leo791.personal_library.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process language detector based on character trigram profiles.
+ * A profile is built at startup for each configured language from the sample text in
+ * language-profiles/{language}.txt, and a text is assigned the language whose profile is most similar to it.
+ * When the best two languages are too close to call, or the text is too short, no language is returned
+ * so the caller can fall back to a remote detector.
+ */
+@Component
+public class LanguageDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(LanguageDetector.class);
+    // Long descriptions are cut, the first characters are enough to tell the language apart
+    private static final int MAX_SAMPLE_LENGTH = 2000;
+    private final Map<String, Map<String, Double>> profiles = new LinkedHashMap<>();
+    private final double minConfidence;
+    private final int minLength;
+
+    public LanguageDetector(@Value("${language-detection.languages}") List<String> languages,
+                            @Value("${language-detection.min-confidence}") double minConfidence,
+                            @Value("${language-detection.min-length}") int minLength) {
+        for (String language : languages) {
+            profiles.put(language, normalize(trigramCounts(readSample(language), Integer.MAX_VALUE)));
+        }
+        this.minConfidence = minConfidence;
+        this.minLength = minLength;
+    }
+
+    /**
+     * Detects the language of a text.
+     * The confidence is how much closer the text is to the best language than to the runner-up,
+     * relative to the best similarity.
+     *
+     * @param text the text to detect the language of
+     * @return the language code, or empty if the text has too few letters or the confidence is below the minimum
+     */
+    public Optional<String> detect(String text) {
+        if (text == null || text.chars().filter(Character::isLetter).count() < minLength) {
+            return Optional.empty();
+        }
+        Map<String, Double> textCounts = trigramCounts(text, MAX_SAMPLE_LENGTH);
+        String bestLanguage = null;
+        double best = 0;
+        double secondBest = 0;
+        for (Map.Entry<String, Map<String, Double>> profile : profiles.entrySet()) {
+            double similarity = similarity(textCounts, profile.getValue());
+            if (similarity > best) {
+                secondBest = best;
+                best = similarity;
+                bestLanguage = profile.getKey();
+            } else if (similarity > secondBest) {
+                secondBest = similarity;
+            }
+        }
+        if (bestLanguage == null) {
+            return Optional.empty();
+        }
+        double confidence = (best - secondBest) / best;
+        if (confidence < minConfidence) {
+            log.info("Language detection not confident enough: {} with confidence {}", bestLanguage, confidence);
+            return Optional.empty();
+        }
+        return Optional.of(bestLanguage);
+    }
+
+    // ================= Private Methods =================
+
+    private static String readSample(String language) {
+        ClassPathResource resource = new ClassPathResource("language-profiles/" + language + ".txt");
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No language profile sample for language " + language, e);
+        }
+    }
+
+    // Counts the trigrams of every word, padded with spaces so word starts and endings are counted too
+    private static Map<String, Double> trigramCounts(String text, int maxLength) {
+        Map<String, Double> counts = new HashMap<>();
+        String sample = text.length() > maxLength ? text.substring(0, maxLength) : text;
+        StringBuilder word = new StringBuilder(" ");
+        for (int i = 0; i <= sample.length(); i++) {
+            char c = i < sample.length() ? Character.toLowerCase(sample.charAt(i)) : ' ';
+            if (Character.isLetter(c)) {
+                word.append(c);
+            } else if (word.length() > 1) {
+                word.append(' ');
+                for (int start = 0; start + 3 <= word.length(); start++) {
+                    counts.merge(word.substring(start, start + 3), 1.0, Double::sum);
+                }
+                word.setLength(1);
+            }
+        }
+        return counts;
+    }
+
+    // Scales the counts so the profile has unit length, then the dot product is the cosine similarity
+    private static Map<String, Double> normalize(Map<String, Double> counts) {
+        double norm = Math.sqrt(counts.values().stream().mapToDouble(count -> count * count).sum());
+        counts.replaceAll((trigram, count) -> count / norm);
+        return counts;
+    }
+
+    private static double similarity(Map<String, Double> textCounts, Map<String, Double> profile) {
+        double dot = 0;
+        double norm = 0;
+        for (Map.Entry<String, Double> entry : textCounts.entrySet()) {
+            double count = entry.getValue();
+            dot += count * profile.getOrDefault(entry.getKey(), 0.0);
+            norm += count * count;
+        }
+        return norm == 0 ? 0 : dot / Math.sqrt(norm);
+    }
+}
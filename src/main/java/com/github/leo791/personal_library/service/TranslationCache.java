@@ -0,0 +1,141 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.LibreTranslateClient;
+import com.github.leo791.personal_library.model.dto.TranslationResult;
+import com.github.leo791.personal_library.model.entity.Translation;
+import com.github.leo791.personal_library.repository.TranslationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Persistent cache of LibreTranslate translations.
+ * Translations are stored in the database under a SHA-256 hash of (source language, target language, text),
+ * so re-inserts, editions sharing a description and retries never translate the same text twice,
+ * even across restarts of the application or of LibreTranslate.
+ */
+@Component
+public class TranslationCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationCache.class);
+    private static final String AUTO_DETECT = "auto";
+    private final LibreTranslateClient libreTranslateClient;
+    private final BatchingTranslator batchingTranslator;
+    private final TranslationRepository translationRepository;
+
+    public TranslationCache(LibreTranslateClient libreTranslateClient, BatchingTranslator batchingTranslator,
+                            TranslationRepository translationRepository) {
+        this.libreTranslateClient = libreTranslateClient;
+        this.batchingTranslator = batchingTranslator;
+        this.translationRepository = translationRepository;
+    }
+
+    /**
+     * Translates a text, using the stored translation when the same text was translated before.
+     *
+     * @param text       the text to translate
+     * @param sourceLang the language of the text
+     * @param targetLang the language to translate to
+     * @return the translated text
+     */
+    public String translate(String text, String sourceLang, String targetLang) throws Exception {
+        return translate(text, sourceLang, targetLang, false);
+    }
+
+    /**
+     * Translates a text, using the stored translation when the same text was translated before.
+     * When batched, a missing translation is requested together with other pending texts of the same language pair,
+     * which is slower for a single text but much cheaper for LibreTranslate during bulk imports.
+     *
+     * @param text       the text to translate
+     * @param sourceLang the language of the text
+     * @param targetLang the language to translate to
+     * @param batched    whether the translation may wait to be batched with other texts
+     * @return the translated text
+     */
+    public String translate(String text, String sourceLang, String targetLang, boolean batched) throws Exception {
+        String source = sourceLang.toLowerCase(Locale.ROOT);
+        String target = targetLang.toLowerCase(Locale.ROOT);
+        String hash = hash(text, source, target);
+
+        Optional<Translation> stored = translationRepository.findById(hash);
+        if (stored.isPresent()) {
+            log.info("Using stored {} to {} translation {}", source, target, hash);
+            return stored.get().getTranslatedText();
+        }
+
+        String translatedText = batched
+                ? awaitTranslation(batchingTranslator.translate(text, sourceLang, targetLang))
+                : libreTranslateClient.translate(text, sourceLang, targetLang);
+        store(new Translation(hash, source, target, translatedText));
+        return translatedText;
+    }
+
+    /**
+     * Detects the language of a text and translates it in a single LibreTranslate request,
+     * using the stored result when the same text was translated to the same language before.
+     * Auto-detected translations are stored with "auto" as the source language in the hash.
+     *
+     * @param text       the text to translate
+     * @param targetLang the language to translate to
+     * @return the detected language and the translated text
+     */
+    public TranslationResult translateAuto(String text, String targetLang) throws Exception {
+        String target = targetLang.toLowerCase(Locale.ROOT);
+        String hash = hash(text, AUTO_DETECT, target);
+
+        Optional<Translation> stored = translationRepository.findById(hash);
+        if (stored.isPresent()) {
+            log.info("Using stored auto-detected to {} translation {}", target, hash);
+            return new TranslationResult(stored.get().getSourceLanguage(), stored.get().getTranslatedText());
+        }
+
+        TranslationResult result = libreTranslateClient.translateAuto(text, targetLang);
+        String source = result.getDetectedLanguage() != null ? result.getDetectedLanguage() : AUTO_DETECT;
+        store(new Translation(hash, source, target, result.getTranslatedText()));
+        return result;
+    }
+
+    private static String awaitTranslation(CompletableFuture<String> translation) throws Exception {
+        try {
+            return translation.get();
+        } catch (ExecutionException e) {
+            // Rethrow what the batch request threw, so batched and single translations fail the same way
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void store(Translation translation) {
+        try {
+            translationRepository.save(translation);
+        } catch (DataAccessException e) {
+            // Another import may have stored the same translation, the result is still usable
+            log.warn("Failed to store translation {}: {}", translation.getTextHash(), e.getMessage());
+        }
+    }
+
+    // The languages are hashed with the text, separated by a character that cannot appear in a language code
+    static String hash(String text, String source, String target) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((source + '\n' + target + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Negative cache of ISBNs that none of the external APIs know about.
+ * Lets repeated scans of self-published or local-press books fail fast without touching the network.
+ * Entries expire after the negative TTL, which is shorter than the provider cache TTL,
+ * so books that are added to the APIs later are eventually found.
+ */
+@Component
+public class UnknownIsbnCache {
+
+    private final Cache cache;
+
+    public UnknownIsbnCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.UNKNOWN_ISBNS_CACHE);
+    }
+
+    public boolean isUnknown(String isbn) {
+        return cache.get(IsbnUtils.normalizeIsbn(isbn)) != null;
+    }
+
+    public void markUnknown(String isbn) {
+        cache.put(IsbnUtils.normalizeIsbn(isbn), Boolean.TRUE);
+    }
+}
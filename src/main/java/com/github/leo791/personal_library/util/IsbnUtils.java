@@ -39,6 +39,20 @@ public class IsbnUtils {
         return false; // Invalid length
     }
 
+    /**
+     * Normalizes an ISBN by removing hyphens and whitespace, as scanners and users often include them.
+     * If the ISBN is null, returns null.
+     *
+     * @param isbn the ISBN to normalize
+     * @return the ISBN without hyphens or whitespace
+     */
+    public static String normalizeIsbn(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        return isbn.replaceAll("[\\s-]", "");
+    }
+
         // Calculate ISBN-10 check digit
         public static int calculateIsbn10CheckDigit(String isbn10) {
             int sum = 0;
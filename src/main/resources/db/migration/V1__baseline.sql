@@ -0,0 +1,27 @@
+-- Schema previously created by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version by spring.flyway.baseline-on-migrate, so this only runs on empty ones.
+
+CREATE TABLE IF NOT EXISTS books (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    isbn           VARCHAR(13)  NOT NULL UNIQUE,
+    title          VARCHAR(255),
+    author         VARCHAR(255),
+    genre          VARCHAR(255),
+    description    TEXT,
+    language       VARCHAR(255),
+    publisher      VARCHAR(255),
+    page_count     INTEGER,
+    published_date VARCHAR(4)
+);
+
+CREATE TABLE IF NOT EXISTS open_library_authors (
+    author_key VARCHAR(255) PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS translations (
+    text_hash       VARCHAR(64) PRIMARY KEY,
+    source_language VARCHAR(8)  NOT NULL,
+    target_language VARCHAR(8)  NOT NULL,
+    translated_text TEXT        NOT NULL
+);
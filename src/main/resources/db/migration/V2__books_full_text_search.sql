@@ -0,0 +1,61 @@
+-- Full-text search over books, used by GET /api/v1/books?q=
+
+-- Text search configuration of a book, from its ISO 639-1 language code (or ISO 639-2 for the most common ones).
+-- Books in other languages are not stemmed
+CREATE OR REPLACE FUNCTION book_search_config(language TEXT) RETURNS REGCONFIG
+    LANGUAGE SQL IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT CASE
+           WHEN lower(language) IN ('en', 'eng') THEN 'english'
+           WHEN lower(language) IN ('pt', 'por') THEN 'portuguese'
+           WHEN lower(language) IN ('es', 'spa') THEN 'spanish'
+           WHEN lower(language) IN ('fr', 'fra', 'fre') THEN 'french'
+           WHEN lower(language) IN ('de', 'deu', 'ger') THEN 'german'
+           WHEN lower(language) IN ('it', 'ita') THEN 'italian'
+           WHEN lower(language) = 'nl' THEN 'dutch'
+           WHEN lower(language) = 'da' THEN 'danish'
+           WHEN lower(language) = 'sv' THEN 'swedish'
+           WHEN lower(language) IN ('no', 'nb') THEN 'norwegian'
+           WHEN lower(language) = 'fi' THEN 'finnish'
+           WHEN lower(language) = 'hu' THEN 'hungarian'
+           WHEN lower(language) = 'ro' THEN 'romanian'
+           WHEN lower(language) = 'ru' THEN 'russian'
+           WHEN lower(language) = 'tr' THEN 'turkish'
+           ELSE 'simple'
+       END::REGCONFIG
+$$;
+
+-- Kept up to date by Postgres on every insert and update
+ALTER TABLE books
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector(book_search_config(language), coalesce(title, '')), 'A') ||
+        setweight(to_tsvector(book_search_config(language), coalesce(author, '')), 'B') ||
+        setweight(to_tsvector(book_search_config(language), coalesce(genre, '')), 'C') ||
+        setweight(to_tsvector(book_search_config(language), coalesce(description, '')), 'D')
+    ) STORED;
+
+CREATE INDEX books_search_vector_idx ON books USING GIN (search_vector);
+
+-- The language of the query is unknown, so it is parsed with every configuration of book_search_config.
+-- Any book matching the query parsed with its own configuration matches this one, which can use the GIN index.
+-- It only narrows down the candidates: excluded terms (-word) are stemmed differently by each configuration
+CREATE OR REPLACE FUNCTION book_search_query(query TEXT) RETURNS TSQUERY
+    LANGUAGE SQL STABLE PARALLEL SAFE AS
+$$
+SELECT websearch_to_tsquery('simple', query)
+           || websearch_to_tsquery('english', query)
+           || websearch_to_tsquery('portuguese', query)
+           || websearch_to_tsquery('spanish', query)
+           || websearch_to_tsquery('french', query)
+           || websearch_to_tsquery('german', query)
+           || websearch_to_tsquery('italian', query)
+           || websearch_to_tsquery('dutch', query)
+           || websearch_to_tsquery('danish', query)
+           || websearch_to_tsquery('swedish', query)
+           || websearch_to_tsquery('norwegian', query)
+           || websearch_to_tsquery('finnish', query)
+           || websearch_to_tsquery('hungarian', query)
+           || websearch_to_tsquery('romanian', query)
+           || websearch_to_tsquery('russian', query)
+           || websearch_to_tsquery('turkish', query)
+$$;
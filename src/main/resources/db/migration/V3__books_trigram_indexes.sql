@@ -0,0 +1,9 @@
+-- Substring search over books, used by GET /api/v1/books?title=, author= and genre=
+-- BookRepository matches lower(column) LIKE '%term%', which these indexes answer for terms of 3 characters or more
+-- The indexes are built concurrently, so books can still be inserted, updated and deleted while they are built.
+-- A build that fails leaves an invalid index behind: drop it before running the migration again.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS books_title_trgm_idx ON books USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS books_author_trgm_idx ON books USING GIN (lower(author) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS books_genre_trgm_idx ON books USING GIN (lower(genre) gin_trgm_ops);
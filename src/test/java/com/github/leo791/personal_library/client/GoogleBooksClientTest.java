@@ -1,14 +1,45 @@
 package com.github.leo791.personal_library.client;
 
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.config.ResilienceConfig;
+import com.github.leo791.personal_library.exception.GoogleBooksQuotaException;
 import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -18,21 +49,163 @@ class GoogleBooksClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.GOOGLE_BOOKS_CACHE);
+
+    private final GoogleBooksRateLimiter rateLimiter = new GoogleBooksRateLimiter(100, 10, 1000, 0,
+            Duration.ofSeconds(5), ZoneOffset.UTC, Clock.systemUTC());
+
     private GoogleBooksClient googleBooksClient;
 
+    @BeforeEach
+    void setUp() {
+        googleBooksClient = new GoogleBooksClient(restTemplate,"mock-base-url", "mock-api-key",
+                circuitBreakerRegistry, BulkheadRegistry.ofDefaults(), rateLimiter, cacheManager);
+    }
+
     @Test
     void fetchBookByIsbn_ShouldReturnResponse() {
         String isbn = "1234567890";
-        googleBooksClient = new GoogleBooksClient(restTemplate,"mock-base-url", "mock-api-key");
-        GoogleBookResponse mockResponse = new GoogleBookResponse();
+        String mockJson = """
+                {"kind": "books#volumes", "totalItems": 1, "items": [{"id": "abc", "volumeInfo": {
+                  "title": "Dune", "authors": ["Frank Herbert"], "pageCount": 412, "language": "en",
+                  "imageLinks": {"thumbnail": "http://books.google.com/dune.jpg"},
+                  "industryIdentifiers": [{"type": "ISBN_10", "identifier": "1234567890"}]}}]}
+                """;
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(respondWith(mockJson));
+
+        GoogleBookResponse result = googleBooksClient.fetchBookByIsbn(isbn, false);
+
+        assertTrue(result.hasItems());
+        GoogleBookResponse.VolumeInfo volumeInfo = result.getItems().getFirst().getVolumeInfo();
+        assertEquals("Dune", volumeInfo.getTitle());
+        assertEquals(List.of("Frank Herbert"), volumeInfo.getAuthors());
+        assertEquals(412, volumeInfo.getPageCount());
+        assertEquals("1234567890", volumeInfo.getIndustryIdentifiers().getFirst().getIdentifier());
+        verify(restTemplate).execute(contains(isbn), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void fetchBookByIsbn_ShouldRequestFirstVolumeWithMappedFieldsOnly() throws Exception {
+        ArgumentCaptor<RequestCallback> requestCallback = ArgumentCaptor.forClass(RequestCallback.class);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(respondWith("{\"totalItems\": 0}"));
+
+        googleBooksClient.fetchBookByIsbn("1234567890", false);
+
+        verify(restTemplate).execute(argThat((String url) -> url.contains("maxResults=1")
+                && url.contains("&fields=" + GoogleBooksClient.VOLUME_FIELDS)), eq(HttpMethod.GET),
+                requestCallback.capture(), any());
+        MockClientHttpRequest request = new MockClientHttpRequest();
+        requestCallback.getValue().doWithRequest(request);
+        assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertTrue(request.getHeaders().getFirst(HttpHeaders.USER_AGENT).contains("gzip"));
+    }
+
+    @Test
+    void fetchBooksByIsbns_ShouldMatchVolumesToIsbnsAndCacheThem() {
+        String duneIsbn = "9780441172719";
+        String frankensteinIsbn = "0486282112";
+        String missingIsbn = "9780141439518";
+        String mockJson = """
+                {"totalItems": 3, "items": [
+                  {"volumeInfo": {"title": "Frankenstein", "industryIdentifiers": [
+                    {"type": "ISBN_13", "identifier": "9780486282114"}, {"type": "ISBN_10", "identifier": "0486282112"}]}},
+                  {"volumeInfo": {"title": "Dune", "industryIdentifiers": [
+                    {"type": "ISBN_10", "identifier": "0441172717"}, {"type": "ISBN_13", "identifier": "9780441172719"}]}},
+                  {"volumeInfo": {"title": "Dune Messiah", "industryIdentifiers": [
+                    {"type": "ISBN_13", "identifier": "9780593098233"}]}}]}
+                """;
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(respondWith(mockJson));
+
+        Map<String, GoogleBookResponse> result = googleBooksClient.fetchBooksByIsbns(
+                List.of(duneIsbn, frankensteinIsbn, missingIsbn), true);
+
+        assertEquals(Set.of(duneIsbn, frankensteinIsbn), result.keySet());
+        assertEquals("Dune", result.get(duneIsbn).getItems().getFirst().getVolumeInfo().getTitle());
+        assertEquals("Frankenstein", result.get(frankensteinIsbn).getItems().getFirst().getVolumeInfo().getTitle());
+        assertTrue(result.get(duneIsbn).hasItems());
+        verify(restTemplate).execute(argThat((String url) -> url.contains("q=isbn:" + duneIsbn + " OR isbn:"
+                + frankensteinIsbn + " OR isbn:" + missingIsbn)), eq(HttpMethod.GET), any(), any());
+        Cache cache = cacheManager.getCache(CacheConfig.GOOGLE_BOOKS_CACHE);
+        assertSame(result.get(duneIsbn), cache.get(duneIsbn, GoogleBookResponse.class));
+        assertNull(cache.get(missingIsbn));
+    }
+
+    @Test
+    void fetchBooksByIsbns_ShouldRejectTooManyIsbns() {
+        List<String> isbns = Collections.nCopies(GoogleBooksClient.MAX_BATCH_SIZE + 1, "9780441172719");
+
+        assertThrows(IllegalArgumentException.class, () -> googleBooksClient.fetchBooksByIsbns(isbns, true));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void fetchBookByIsbn_ShouldRejectCallWhenCircuitBreakerIsOpen() {
+        circuitBreakerRegistry.circuitBreaker(ResilienceConfig.GOOGLE_BOOKS).transitionToOpenState();
+
+        assertThrows(CallNotPermittedException.class, () -> googleBooksClient.fetchBookByIsbn("1234567890", false));
+        verifyNoInteractions(restTemplate);
+        // Rejected calls do not use the daily quota
+        assertEquals(1000, rateLimiter.remainingToday());
+    }
+
+    @Test
+    void fetchBookByIsbn_QuotaRefusal_IsNotRecordedByCircuitBreaker() {
+        GoogleBooksRateLimiter exhausted = new GoogleBooksRateLimiter(100, 10, 0, 0,
+                Duration.ofSeconds(5), ZoneOffset.UTC, Clock.systemUTC());
+        googleBooksClient = new GoogleBooksClient(restTemplate,"mock-base-url", "mock-api-key",
+                circuitBreakerRegistry, BulkheadRegistry.ofDefaults(), exhausted, cacheManager);
+
+        assertThrows(GoogleBooksQuotaException.class, () -> googleBooksClient.fetchBookByIsbn("1234567890", false));
+        verifyNoInteractions(restTemplate);
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker(ResilienceConfig.GOOGLE_BOOKS).getMetrics()
+                .getNumberOfBufferedCalls());
+    }
+
+    @Test
+    void fetchBookByIsbn_BulkheadFull_GivesQuotaBack() {
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        googleBooksClient = new GoogleBooksClient(restTemplate,"mock-base-url", "mock-api-key",
+                circuitBreakerRegistry, bulkheadRegistry, rateLimiter, cacheManager);
+        // Another call holds the only slot
+        bulkheadRegistry.bulkhead(ResilienceConfig.GOOGLE_BOOKS).acquirePermission();
 
-        when(restTemplate.getForObject(anyString(),eq(GoogleBookResponse.class)))
-                .thenReturn(mockResponse);
+        assertThrows(BulkheadFullException.class, () -> googleBooksClient.fetchBookByIsbn("1234567890", true));
+        verifyNoInteractions(restTemplate);
+        assertEquals(1000, rateLimiter.remainingToday());
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker(ResilienceConfig.GOOGLE_BOOKS).getMetrics()
+                .getNumberOfBufferedCalls());
+    }
+
+    @Test
+    void fetchBookByIsbn_ShouldRetryAfterRateLimitResponse() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "0");
 
-        GoogleBookResponse result = googleBooksClient.fetchBookByIsbn(isbn);
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                        headers, new byte[0], null))
+                .thenAnswer(respondWith("{\"totalItems\": 0}"));
+
+        assertFalse(googleBooksClient.fetchBookByIsbn("1234567890", false).hasItems());
+        verify(restTemplate, times(2)).execute(anyString(), eq(HttpMethod.GET), any(), any());
+    }
 
-        assertEquals(mockResponse, result);
-        verify(restTemplate).getForObject(contains(isbn), eq(GoogleBookResponse.class));
+    // Runs the response extractor given to the RestTemplate on a successful response with the given body
+    private static Answer<Object> respondWith(String json) {
+        return invocation -> {
+            ResponseExtractor<?> extractor = invocation.getArgument(3);
+            return extractor.extractData(
+                    new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package com.github.leo791.personal_library.client;
+
+import com.github.leo791.personal_library.exception.GoogleBooksQuotaException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Unit tests for the GoogleBooksRateLimiter class. */
+class GoogleBooksRateLimiterTest {
+
+    private final ZoneId pacificTime = ZoneId.of("America/Los_Angeles");
+    // 10:00 in the morning, Pacific Time
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T18:00:00Z"));
+
+    @Test
+    void acquire_BeyondBurst_RefusedWhenWaitTooLong() {
+        // Arrange
+        GoogleBooksRateLimiter rateLimiter = rateLimiter(1, 2, 1000, 0);
+
+        // Act & Assert
+        rateLimiter.acquire(false);
+        rateLimiter.acquire(false);
+        assertThrows(GoogleBooksQuotaException.class, () -> rateLimiter.acquire(false));
+    }
+
+    @Test
+    void acquire_PermitsRefillOverTime() {
+        // Arrange
+        GoogleBooksRateLimiter rateLimiter = rateLimiter(2, 1, 1000, 0);
+        rateLimiter.acquire(false);
+
+        // Act
+        clock.advance(Duration.ofMillis(500));
+
+        // Assert
+        assertDoesNotThrow(() -> rateLimiter.acquire(false));
+    }
+
+    @Test
+    void acquire_DailyQuotaUsedUp_RefusedUntilMidnightPacificTime() {
+        // Arrange
+        GoogleBooksRateLimiter rateLimiter = rateLimiter(100, 100, 2, 0);
+        rateLimiter.acquire(false);
+        rateLimiter.acquire(false);
+
+        // Act & Assert
+        assertEquals(0, rateLimiter.remainingToday());
+        assertThrows(GoogleBooksQuotaException.class, () -> rateLimiter.acquire(false));
+        // 23:00 Pacific Time is already the next day in UTC, but the quota has not reset yet
+        clock.advance(Duration.ofHours(13));
+        assertEquals(0, rateLimiter.remainingToday());
+        clock.advance(Duration.ofHours(1));
+        assertEquals(2, rateLimiter.remainingToday());
+        assertDoesNotThrow(() -> rateLimiter.acquire(false));
+    }
+
+    @Test
+    void acquire_BulkImportsLeaveReserveToSingleInserts() {
+        // Arrange
+        GoogleBooksRateLimiter rateLimiter = rateLimiter(100, 100, 3, 2);
+        rateLimiter.acquire(true);
+
+        // Act & Assert
+        assertThrows(GoogleBooksQuotaException.class, () -> rateLimiter.acquire(true));
+        assertDoesNotThrow(() -> rateLimiter.acquire(false));
+        assertEquals(1, rateLimiter.remainingToday());
+    }
+
+    @Test
+    void refund_GivesBackPermitAndDailyQuota() {
+        // Arrange
+        GoogleBooksRateLimiter rateLimiter = rateLimiter(1, 1, 2, 0);
+        rateLimiter.acquire(false);
+
+        // Act
+        rateLimiter.refund();
+
+        // Assert
+        assertEquals(2, rateLimiter.remainingToday());
+        assertDoesNotThrow(() -> rateLimiter.acquire(false));
+    }
+
+    @Test
+    void acquire_BulkCallsDoNotQueueAheadOfSingleInserts() throws Exception {
+        // Arrange
+        // 100 ms between permits, on the real clock since bulk calls sleep until a permit is free
+        GoogleBooksRateLimiter rateLimiter = new GoogleBooksRateLimiter(10, 1, 1000, 0, Duration.ofMillis(150),
+                pacificTime, Clock.systemUTC());
+        rateLimiter.acquire(false);
+
+        // Act
+        Thread bulkCall = Thread.ofVirtual().start(() -> {
+            try {
+                rateLimiter.acquire(true);
+            } catch (GoogleBooksQuotaException e) {
+                // Gave way to the single insert, and would fall back to Open Library
+            }
+        });
+        Thread.sleep(20);
+
+        // Assert
+        // A bulk call reserving the next permit in advance would delay the single insert by 200 ms
+        assertDoesNotThrow(() -> rateLimiter.acquire(false));
+        bulkCall.join();
+    }
+
+    @Test
+    void onRateLimited_PausesCallsForRetryAfter() {
+        // Arrange
+        GoogleBooksRateLimiter rateLimiter = rateLimiter(100, 100, 1000, 0);
+
+        // Act
+        rateLimiter.onRateLimited("30");
+
+        // Assert
+        assertThrows(GoogleBooksQuotaException.class, () -> rateLimiter.acquire(false));
+        clock.advance(Duration.ofSeconds(30));
+        assertDoesNotThrow(() -> rateLimiter.acquire(false));
+    }
+
+    @Test
+    void parseRetryAfter_SecondsOrHttpDate() {
+        Instant now = Instant.parse("2025-01-01T18:00:00Z");
+
+        assertEquals(Duration.ofSeconds(120), GoogleBooksRateLimiter.parseRetryAfter("120", now));
+        assertEquals(Duration.ofSeconds(90),
+                GoogleBooksRateLimiter.parseRetryAfter("Wed, 01 Jan 2025 18:01:30 GMT", now));
+        assertEquals(Duration.ZERO, GoogleBooksRateLimiter.parseRetryAfter("Wed, 01 Jan 2025 17:00:00 GMT", now));
+        assertEquals(Duration.ofSeconds(1), GoogleBooksRateLimiter.parseRetryAfter("soon", now));
+        assertEquals(Duration.ofSeconds(1), GoogleBooksRateLimiter.parseRetryAfter(null, now));
+    }
+
+    // Calls that would have to wait are refused straight away, so the tests never sleep
+    private GoogleBooksRateLimiter rateLimiter(double requestsPerSecond, int burst, long requestsPerDay,
+                                               long bulkReserve) {
+        return new GoogleBooksRateLimiter(requestsPerSecond, burst, requestsPerDay, bulkReserve, Duration.ZERO,
+                pacificTime, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
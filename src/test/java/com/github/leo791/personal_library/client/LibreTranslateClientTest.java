@@ -1,13 +1,27 @@
 package com.github.leo791.personal_library.client;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.ResponseEntity;
+import org.mockito.stubbing.Answer;
+import com.github.leo791.personal_library.model.dto.TranslationResult;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -18,9 +32,14 @@ class LibreTranslateClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private LibreTranslateClient libreTranslateClient;
 
+    @BeforeEach
+    void setUp() {
+        libreTranslateClient = new LibreTranslateClient(restTemplate, "mock-base-url", CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults());
+    }
+
 
     @Test
     void translate_ShouldReturnTranslatedText() throws Exception {
@@ -29,8 +48,8 @@ class LibreTranslateClientTest {
         String targetLang = "es";
         String mockJson = "{\"translatedText\":\"Hola\"}";
 
-        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.ok(mockJson));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.OK, mockJson));
 
         String result = libreTranslateClient.translate(text, sourceLang, targetLang);
 
@@ -44,8 +63,8 @@ class LibreTranslateClientTest {
         String targetLang = "xx"; // Invalid target language
         String mockJson = "{\"error\":\"xx not supported\"}";
 
-        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.badRequest().body(mockJson));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.BAD_REQUEST, mockJson));
 
         Exception exception = assertThrows(Exception.class, () -> {
             libreTranslateClient.translate(text, sourceLang, targetLang);
@@ -61,8 +80,8 @@ class LibreTranslateClientTest {
         String targetLang = "es";
         String mockJson = "{\"unexpectedField\":\"value\"}";
 
-        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.badRequest().body(mockJson));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.BAD_REQUEST, mockJson));
 
         Exception exception = assertThrows(Exception.class, () -> {
             libreTranslateClient.translate(text, sourceLang, targetLang);
@@ -71,13 +90,65 @@ class LibreTranslateClientTest {
         assertTrue(exception.getMessage().contains("Unexpected response from LibreTranslate"));
     }
 
+    @Test
+    void translateAuto_ShouldReturnDetectedLanguageAndTranslatedText() throws Exception {
+        String mockJson = "{\"detectedLanguage\":{\"confidence\":90,\"language\":\"pt\"},\"translatedText\":\"Hello\"}";
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), argThat(requestBodyContains("source=auto")),
+                any()))
+                .thenAnswer(respondWith(HttpStatus.OK, mockJson));
+
+        TranslationResult result = libreTranslateClient.translateAuto("Olá", "en");
+
+        assertEquals("pt", result.getDetectedLanguage());
+        assertEquals("Hello", result.getTranslatedText());
+    }
+
+    @Test
+    void translateAuto_ShouldThrowExceptionOnErrorResponse() {
+        String mockJson = "{\"error\":\"xx not supported\"}";
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.BAD_REQUEST, mockJson));
+
+        Exception exception = assertThrows(Exception.class, () -> libreTranslateClient.translateAuto("Olá", "xx"));
+
+        assertEquals("xx not supported", exception.getMessage());
+    }
+
+    @Test
+    void translateBatch_ShouldReturnTranslatedTextsInOrder() throws Exception {
+        String mockJson = "{\"translatedText\":[\"Hola\",\"Adiós\"]}";
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST),
+                argThat(requestBodyContains("\"q\":[\"Hello\",\"Goodbye\"]")), any()))
+                .thenAnswer(respondWith(HttpStatus.OK, mockJson));
+
+        List<String> result = libreTranslateClient.translateBatch(List.of("Hello", "Goodbye"), "en", "es");
+
+        assertEquals(List.of("Hola", "Adiós"), result);
+    }
+
+    @Test
+    void translateBatch_ShouldThrowExceptionOnMissingTranslations() {
+        String mockJson = "{\"translatedText\":[\"Hola\"]}";
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.OK, mockJson));
+
+        Exception exception = assertThrows(Exception.class,
+                () -> libreTranslateClient.translateBatch(List.of("Hello", "Goodbye"), "en", "es"));
+
+        assertTrue(exception.getMessage().contains("Unexpected response from LibreTranslate"));
+    }
+
     @Test
     void detect_ShouldReturnDetectedLanguage() throws Exception {
         String text = "Hello";
         String mockJson = "[{\"language\":\"en\",\"confidence\":1}]";
 
-        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.ok(mockJson));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.OK, mockJson));
 
         String result = libreTranslateClient.detect(text);
 
@@ -89,8 +160,8 @@ class LibreTranslateClientTest {
         String text = "Hello";
         String mockJson = "{\"error\":\"Invalid request\"}";
 
-        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.badRequest().body(mockJson));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.BAD_REQUEST, mockJson));
 
         Exception exception = assertThrows(Exception.class, () -> {
             libreTranslateClient.detect(text);
@@ -105,8 +176,8 @@ class LibreTranslateClientTest {
         String text = "Hello";
         String mockJson = "{\"unexpectedField\":\"value\"}";
 
-        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.badRequest().body(mockJson));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(respondWith(HttpStatus.BAD_REQUEST, mockJson));
 
         Exception exception = assertThrows(Exception.class, () -> {
             libreTranslateClient.detect(text);
@@ -115,6 +186,27 @@ class LibreTranslateClientTest {
         assertTrue(exception.getMessage().contains("Unexpected response from LibreTranslate"));
     }
 
+    // Runs the response extractor given to the RestTemplate on a response with the given status and body
+    private static Answer<Object> respondWith(HttpStatus status, String json) {
+        return invocation -> {
+            ResponseExtractor<?> extractor = invocation.getArgument(3);
+            return extractor.extractData(new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), status));
+        };
+    }
 
-
-}
\ No newline at end of file
+    // Matches requests whose body, as written by the request callback, contains the given text
+    private static ArgumentMatcher<RequestCallback> requestBodyContains(String text) {
+        return callback -> {
+            if (callback == null) {
+                return false;
+            }
+            MockClientHttpRequest request = new MockClientHttpRequest();
+            try {
+                callback.doWithRequest(request);
+            } catch (IOException e) {
+                return false;
+            }
+            return request.getBodyAsString().contains(text);
+        };
+    }
+}
@@ -1,13 +1,31 @@
 package com.github.leo791.personal_library.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.model.entity.OpenLibraryBibkeysEntry;
 import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.eq;
@@ -20,13 +38,15 @@ class OpenLibraryClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.OPEN_LIBRARY_BOOKS_CACHE);
+
     private  OpenLibraryClient openLibraryClient;
 
     @Test
     void fetchBookByIsbn_ShouldReturnResponse() {
         String isbn = "1234567890";
-        openLibraryClient = new OpenLibraryClient(restTemplate, "mock-base-url");
+        openLibraryClient = new OpenLibraryClient(restTemplate, "mock-base-url", CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), cacheManager);
         OpenLibraryBookResponse mockResponse = new OpenLibraryBookResponse();
 
         when(restTemplate.getForObject(anyString(),eq(OpenLibraryBookResponse.class)))
@@ -42,16 +62,67 @@ class OpenLibraryClientTest {
     void fetchAuthorByKey_ShouldReturnAuthorName() throws Exception {
         String authorKey = "/authors/OL12345A";
         String expectedAuthorName = "John Doe";
-        openLibraryClient = new OpenLibraryClient(restTemplate, "mock-base-url");
+        openLibraryClient = new OpenLibraryClient(restTemplate, "mock-base-url", CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), cacheManager);
         String mockJsonResponse = "{\"name\": \"" + expectedAuthorName + "\"}";
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new org.springframework.http.ResponseEntity<>(mockJsonResponse, org.springframework.http.HttpStatus.OK));
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(
+                        new MockClientHttpResponse(mockJsonResponse.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)));
 
         String result = openLibraryClient.fetchAuthorByKey(authorKey);
 
         assertEquals(expectedAuthorName, result);
-        verify(restTemplate).getForEntity(contains(authorKey), eq(String.class));
+        verify(restTemplate).execute(contains(authorKey), eq(HttpMethod.GET), any(), any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void fetchAuthorByKey_ShouldThrowExceptionWhenNameIsMissing() {
+        String authorKey = "/authors/OL12345A";
+        openLibraryClient = new OpenLibraryClient(restTemplate, "mock-base-url", CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), cacheManager);
+        String mockJsonResponse = "{\"key\": \"" + authorKey + "\", \"links\": [{\"title\": \"Site\"}]}";
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(
+                        new MockClientHttpResponse(mockJsonResponse.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)));
+
+        assertThrows(RuntimeException.class, () -> openLibraryClient.fetchAuthorByKey(authorKey));
+    }
+
+    @Test
+    void fetchBooksByIsbns_ShouldReturnEditionsWithAuthorNamesAndCacheThem() throws Exception {
+        String duneIsbn = "9780441172719";
+        String missingIsbn = "9780141439518";
+        openLibraryClient = new OpenLibraryClient(restTemplate, "mock-base-url", CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), cacheManager);
+        String mockJson = """
+                {"ISBN:9780441172719": {"bib_key": "ISBN:9780441172719",
+                  "info_url": "https://openlibrary.org/books/OL26242482M/Dune", "preview": "noview",
+                  "details": {"title": "Dune", "number_of_pages": 658, "publishers": ["Ace"],
+                    "languages": [{"key": "/languages/eng"}], "isbn_13": ["9780441172719"],
+                    "authors": [{"key": "/authors/OL79034A", "name": "Frank Herbert"}],
+                    "covers": [11481354], "publish_date": "2019"}}}
+                """;
+        Map<String, OpenLibraryBibkeysEntry> entries = new ObjectMapper().readValue(mockJson,
+                new TypeReference<Map<String, OpenLibraryBibkeysEntry>>() {});
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(entries));
+
+        Map<String, OpenLibraryBookResponse> result = openLibraryClient.fetchBooksByIsbns(
+                List.of(duneIsbn, missingIsbn));
+
+        assertEquals(1, result.size());
+        OpenLibraryBookResponse dune = result.get(duneIsbn);
+        assertEquals("Dune", dune.getTitle());
+        assertEquals("/authors/OL79034A", dune.getAuthors().getFirst().key);
+        assertEquals("Frank Herbert", dune.getAuthors().getFirst().getName());
+        verify(restTemplate).exchange(contains("bibkeys=ISBN:" + duneIsbn + ",ISBN:" + missingIsbn),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        Cache cache = cacheManager.getCache(CacheConfig.OPEN_LIBRARY_BOOKS_CACHE);
+        assertSame(dune, cache.get(duneIsbn, OpenLibraryBookResponse.class));
+        assertNull(cache.get(missingIsbn));
+    }
+}
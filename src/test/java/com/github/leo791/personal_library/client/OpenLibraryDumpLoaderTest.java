@@ -0,0 +1,123 @@
+package com.github.leo791.personal_library.client;
+
+import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLibraryDumpLoaderTest {
+
+    private static final String AUTHORS = String.join("\n",
+            "/type/author\t/authors/OL79034A\t3\t2021-01-01T00:00:00\t{\"key\": \"/authors/OL79034A\", \"name\": \"Frank Herbert\"}",
+            "/type/author\t/authors/OL2693474A\t7\t2021-01-01T00:00:00\t{\"key\": \"/authors/OL2693474A\", \"name\": \"Umberto Eco\", \"bio\": \"Italian novelist\"}",
+            "/type/redirect\t/authors/OL1A\t1\t2021-01-01T00:00:00\t{\"key\": \"/authors/OL1A\", \"location\": \"/authors/OL79034A\"}");
+
+    private static final List<String> EDITIONS = List.of(
+            "/type/edition\t/books/OL1M\t4\t2021-01-01T00:00:00\t{\"title\": \"Dune\", \"isbn_10\": [\"0441172717\"], \"isbn_13\": [\"978-0-441-17271-9\"], \"authors\": [{\"key\": \"/authors/OL79034A\"}], \"number_of_pages\": 412, \"covers\": [123]}",
+            "/type/edition\t/books/OL2M\t2\t2021-01-01T00:00:00\t{\"title\": \"Broken record",
+            "/type/edition\t/books/OL3M\t5\t2021-01-01T00:00:00\t{\"title\": \"The Name of the Rose\", \"isbn_13\": [\"9780544176560\"], \"authors\": [{\"key\": \"/authors/OL2693474A\"}], \"languages\": [{\"key\": \"/languages/eng\"}]}",
+            "/type/edition\t/books/OL4M\t1\t2021-01-01T00:00:00\t{\"title\": \"No ISBN\"}",
+            "/type/edition\t/books/OL5M\t1\t2021-01-01T00:00:00\t{\"title\": \"Dune (reprint)\", \"isbn_10\": [\"0441172717\"]}",
+            "/type/edition\t/books/OL6M\t1\t2021-01-01T00:00:00\t{\"title\": \"Foucault's Pendulum\", \"isbn_10\": [\"015603297X\"]}");
+
+    @TempDir
+    Path indexDirectory;
+
+    @Test
+    void load_IndexesEditionsByIsbnWithAuthorNames() throws IOException {
+        // Arrange
+        Path authorsDump = gzip("ol_dump_authors.txt.gz", AUTHORS);
+        Path editionsDump = gzip("ol_dump_editions.txt.gz", String.join("\n", EDITIONS));
+        OpenLibraryDumpLoader loader = new OpenLibraryDumpLoader(indexDirectory, 2);
+
+        // Act
+        loader.loadAuthors(authorsDump);
+        loader.loadEditions(editionsDump);
+        OpenLibraryDumpClient client = new OpenLibraryDumpClient(indexDirectory.toString());
+
+        // Assert
+        assertTrue(client.isEnabled());
+        OpenLibraryBookResponse dune = client.fetchBookByIsbn("9780441172719");
+        assertEquals("Dune", dune.getTitle());
+        assertEquals(412, dune.getNumberOfPages());
+        assertEquals("Frank Herbert", dune.getAuthors().getFirst().getName());
+        // The first edition of an ISBN wins over later ones
+        assertEquals("Dune", client.fetchBookByIsbn("0-441-17271-7").getTitle());
+        OpenLibraryBookResponse rose = client.fetchBookByIsbn("9780544176560");
+        assertEquals("Umberto Eco", rose.getAuthors().getFirst().getName());
+        assertEquals("/languages/eng", rose.getLanguages().getFirst().getKey());
+        assertEquals("Foucault's Pendulum", client.fetchBookByIsbn("015603297x").getTitle());
+        assertNull(client.fetchBookByIsbn("9780141439518"));
+    }
+
+    @Test
+    void load_InterruptedLoadResumesFromCheckpoint() throws IOException {
+        // Arrange: the first read fails after four lines, as if the loader had crashed
+        OpenLibraryDumpLoader loader = new OpenLibraryDumpLoader(indexDirectory, 2);
+        String firstLines = String.join("\n", EDITIONS.subList(0, 4)) + "\n";
+
+        // Act
+        assertThrows(IOException.class, () -> loader.loadEditions(failingAfter(firstLines)));
+        assertFalse(new OpenLibraryDumpClient(indexDirectory.toString()).isEnabled());
+        loader.loadEditions(reader(String.join("\n", EDITIONS)));
+
+        // Assert
+        OpenLibraryDumpClient client = new OpenLibraryDumpClient(indexDirectory.toString());
+        assertEquals("Dune", client.fetchBookByIsbn("0441172717").getTitle());
+        assertEquals("The Name of the Rose", client.fetchBookByIsbn("9780544176560").getTitle());
+        assertEquals("Foucault's Pendulum", client.fetchBookByIsbn("015603297X").getTitle());
+        // Without the authors dump, editions only have the author keys
+        assertNull(client.fetchBookByIsbn("9780441172719").getAuthors().getFirst().getName());
+        try (var files = Files.list(indexDirectory)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().contains(".run-")));
+        }
+    }
+
+    @Test
+    void fetchBookByIsbn_WithoutIndexDirectory_ReturnsNull() throws IOException {
+        // Act
+        OpenLibraryDumpClient client = new OpenLibraryDumpClient("");
+
+        // Assert
+        assertFalse(client.isEnabled());
+        assertNull(client.fetchBookByIsbn("9780441172719"));
+    }
+
+    private Path gzip(String name, String content) throws IOException {
+        Path path = indexDirectory.resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+    }
+
+    private static BufferedReader failingAfter(String content) {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        return new BufferedReader(new InputStreamReader(new SequenceInputStream(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), failing), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.leo791.personal_library.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures the bytes allocated to parse the provider responses of a single insert, comparing the streaming parsers
+ * with the previous data binding and String plus JsonNode tree parsing.
+ * It is not run by the test suite, run it with:
+ * mvn test-compile exec:java -Dexec.mainClass=com.github.leo791.personal_library.client.ProviderParsingBenchmark
+ * -Dexec.classpathScope=test
+ */
+public class ProviderParsingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String AUTHOR_JSON = """
+            {"key": "/authors/OL2693474A", "type": {"key": "/type/author"}, "name": "Umberto Eco",
+            "personal_name": "Umberto Eco", "birth_date": "5 January 1932", "death_date": "19 February 2016",
+            "bio": {"type": "/type/text", "value": "Umberto Eco was an Italian medievalist, philosopher,\
+             semiotician, novelist, cultural critic, and political and social commentator."},
+            "links": [{"title": "Wikipedia", "url": "https://en.wikipedia.org/wiki/Umberto_Eco",
+            "type": {"key": "/type/link"}}], "remote_ids": {"wikidata": "Q12807", "viaf": "108299403"},
+            "photos": [6636405, 6636406], "revision": 12, "latest_revision": 12}
+            """;
+
+    private static final String TRANSLATION_JSON = """
+            {"detectedLanguage": {"confidence": 90, "language": "it"}, "translatedText": "The bestselling novel\
+             of intrigue and murder in a medieval Italian monastery."}
+            """;
+
+    public static void main(String[] args) throws IOException {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        byte[] googleBooks;
+        try (InputStream in = ProviderParsingBenchmark.class.getResourceAsStream("/google-books-volumes.json")) {
+            googleBooks = in.readAllBytes();
+        }
+        byte[] author = AUTHOR_JSON.getBytes(StandardCharsets.UTF_8);
+        byte[] translation = TRANSLATION_JSON.getBytes(StandardCharsets.UTF_8);
+
+        Parse tree = () -> {
+            GoogleBookResponse response = OBJECT_MAPPER.readValue(new ByteArrayInputStream(googleBooks),
+                    GoogleBookResponse.class);
+            JsonNode authorNode = OBJECT_MAPPER.readTree(new String(author, StandardCharsets.UTF_8));
+            JsonNode translationNode = OBJECT_MAPPER.readTree(new String(translation, StandardCharsets.UTF_8));
+            return response.getTotalItems() + authorNode.get("name").asText().length()
+                    + translationNode.get("translatedText").asText().length();
+        };
+        Parse streaming = () -> {
+            GoogleBookResponse response = ProviderResponseParsers.parseGoogleBooks(
+                    new ByteArrayInputStream(googleBooks));
+            String name = ProviderResponseParsers.parseAuthorName(new ByteArrayInputStream(author));
+            String translatedText = ProviderResponseParsers.parseLibreTranslate(new ByteArrayInputStream(translation))
+                    .translatedTexts().getFirst();
+            return response.getTotalItems() + name.length() + translatedText.length();
+        };
+
+        long treeBytes = measure(threadMXBean, tree);
+        long streamingBytes = measure(threadMXBean, streaming);
+        System.out.printf("Data binding and JsonNode trees: %,d bytes allocated per insert%n", treeBytes);
+        System.out.printf("Streaming parsers:               %,d bytes allocated per insert%n", streamingBytes);
+        System.out.printf("Reduction:                       %.1f%%%n", 100.0 * (treeBytes - streamingBytes) / treeBytes);
+    }
+
+    // Average bytes allocated by the current thread for each run of the parse, after a warmup
+    private static long measure(com.sun.management.ThreadMXBean threadMXBean, Parse parse) throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += parse.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += parse.run();
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        if (checksum == 0) {
+            throw new IllegalStateException("Nothing was parsed");
+        }
+        return allocated / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Parse {
+        int run() throws IOException;
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.leo791.personal_library.client;
+
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.config.ResilienceConfig;
+import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/** Tests for the caching of Google Books and Open Library responses. */
+@SpringBootTest(classes = {CacheConfig.class, ResilienceConfig.class, SimpleMeterRegistry.class,
+        GoogleBooksRateLimiter.class, GoogleBooksClient.class, OpenLibraryClient.class})
+@TestPropertySource(properties = {
+        "google.books.api.base-url=https://www.googleapis.com",
+        "google.books.api.key=dummy-key",
+        "google.books.api.max-concurrent-requests=1",
+        "google.books.api.max-wait=1s",
+        "google.books.api.requests-per-second=100",
+        "google.books.api.burst=10",
+        "google.books.api.requests-per-day=1000",
+        "google.books.api.bulk-daily-reserve=0",
+        "google.books.api.max-rate-limit-wait=1s",
+        "google.books.api.quota-zone=UTC",
+        "openlibrary.api.base-url=https://openlibrary.org",
+        "openlibrary.api.max-concurrent-requests=1",
+        "openlibrary.api.max-wait=1s",
+        "libretranslate.api.max-concurrent-requests=1",
+        "libretranslate.api.max-wait=1s",
+        "circuit-breaker.failure-rate-threshold=50",
+        "circuit-breaker.sliding-window-size=20",
+        "circuit-breaker.minimum-number-of-calls=10",
+        "circuit-breaker.wait-duration-in-open-state=30s",
+        "provider-cache.maximum-size=100",
+        "provider-cache.ttl=1h",
+        "provider-cache.negative-ttl=1m"
+})
+class ProviderResponseCacheTest {
+
+    private final String isbn = "9780553212471";
+    private final String hyphenatedIsbn = "978-0-553-21247-1";
+
+    @MockitoBean(name = "googleBooksRestTemplate")
+    private RestTemplate googleBooksRestTemplate;
+
+    @MockitoBean(name = "openLibraryRestTemplate")
+    private RestTemplate openLibraryRestTemplate;
+
+    @Autowired
+    private GoogleBooksClient googleBooksClient;
+
+    @Autowired
+    private OpenLibraryClient openLibraryClient;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void googleBooks_CachesResponseByNormalizedIsbn() {
+        // Mock
+        GoogleBookResponse response = new GoogleBookResponse(1, List.of(new GoogleBookResponse.Item(null)));
+        when(googleBooksRestTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any())).thenReturn(response);
+
+        // Act
+        GoogleBookResponse first = googleBooksClient.fetchBookByIsbn(isbn, false);
+        GoogleBookResponse second = googleBooksClient.fetchBookByIsbn(hyphenatedIsbn, false);
+
+        // Assert
+        assertSame(response, first);
+        assertSame(response, second);
+        verify(googleBooksRestTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), any(), any());
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.GOOGLE_BOOKS_CACHE);
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+    }
+
+    @Test
+    void googleBooks_DoesNotCacheEmptyResponse() {
+        // Mock
+        when(googleBooksRestTemplate.execute(anyString(), eq(HttpMethod.GET), any(), any()))
+                .thenReturn(new GoogleBookResponse(0, List.of()));
+
+        // Act
+        googleBooksClient.fetchBookByIsbn(isbn, false);
+        googleBooksClient.fetchBookByIsbn(isbn, false);
+
+        // Assert
+        verify(googleBooksRestTemplate, times(2)).execute(anyString(), eq(HttpMethod.GET), any(), any());
+    }
+
+    @Test
+    void openLibrary_CachesResponseByNormalizedIsbn() {
+        // Mock
+        OpenLibraryBookResponse response = new OpenLibraryBookResponse();
+        when(openLibraryRestTemplate.getForObject(anyString(), eq(OpenLibraryBookResponse.class))).thenReturn(response);
+
+        // Act
+        openLibraryClient.fetchBookByIsbn(isbn);
+        OpenLibraryBookResponse cached = openLibraryClient.fetchBookByIsbn(hyphenatedIsbn);
+
+        // Assert
+        assertSame(response, cached);
+        verify(openLibraryRestTemplate, times(1)).getForObject(anyString(), eq(OpenLibraryBookResponse.class));
+    }
+
+    @Test
+    void openLibrary_DoesNotCacheErrors() {
+        // Mock
+        when(openLibraryRestTemplate.getForObject(anyString(), eq(OpenLibraryBookResponse.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> openLibraryClient.fetchBookByIsbn(isbn));
+        assertThrows(RuntimeException.class, () -> openLibraryClient.fetchBookByIsbn(isbn));
+        verify(openLibraryRestTemplate, times(2)).getForObject(anyString(), eq(OpenLibraryBookResponse.class));
+    }
+}
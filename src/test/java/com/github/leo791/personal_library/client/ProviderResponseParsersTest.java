@@ -0,0 +1,139 @@
+package com.github.leo791.personal_library.client;
+
+import com.github.leo791.personal_library.client.ProviderResponseParsers.LibreTranslateResponse;
+import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderResponseParsersTest {
+
+    @Test
+    void parseGoogleBooks_ShouldKeepOnlyFirstItemAndMappedFields() throws IOException {
+        // Arrange
+        InputStream body = getClass().getResourceAsStream("/google-books-volumes.json");
+
+        // Act
+        GoogleBookResponse response = ProviderResponseParsers.parseGoogleBooks(body);
+
+        // Assert
+        assertEquals(3, response.getTotalItems());
+        assertEquals(1, response.getItems().size());
+        GoogleBookResponse.VolumeInfo volumeInfo = response.getItems().getFirst().getVolumeInfo();
+        assertEquals("The Name of the Rose", volumeInfo.getTitle());
+        assertEquals(List.of("Umberto Eco"), volumeInfo.getAuthors());
+        assertEquals("Houghton Mifflin Harcourt", volumeInfo.getPublisher());
+        assertEquals("2014-05-06", volumeInfo.getPublishedDate());
+        assertEquals(List.of("Fiction"), volumeInfo.getCategories());
+        assertNull(volumeInfo.getMainCategory());
+        assertTrue(volumeInfo.getDescription().startsWith("The bestselling novel"));
+        assertEquals("en", volumeInfo.getLanguage());
+        assertEquals(612, volumeInfo.getPageCount());
+        assertEquals(2, volumeInfo.getIndustryIdentifiers().size());
+        assertEquals("ISBN_13", volumeInfo.getIndustryIdentifiers().getFirst().getType());
+        assertEquals("9780544176560", volumeInfo.getIndustryIdentifiers().getFirst().getIdentifier());
+    }
+
+    @Test
+    void parseGoogleBooks_ShouldHandleResponseWithoutItems() throws IOException {
+        // Act
+        GoogleBookResponse response = ProviderResponseParsers.parseGoogleBooks(
+                stream("{\"kind\": \"books#volumes\", \"totalItems\": 0}"));
+
+        // Assert
+        assertEquals(0, response.getTotalItems());
+        assertFalse(response.hasItems());
+    }
+
+    @Test
+    void parseGoogleBooks_ShouldReturnNullForEmptyBody() throws IOException {
+        assertNull(ProviderResponseParsers.parseGoogleBooks(stream("")));
+    }
+
+    @Test
+    void parseGoogleBooks_ShouldIgnoreNullsAndUnexpectedTypes() throws IOException {
+        // Act
+        GoogleBookResponse response = ProviderResponseParsers.parseGoogleBooks(stream("""
+                {"totalItems": 1, "items": [{"volumeInfo": {"title": null, "authors": "Umberto Eco",
+                "pageCount": "612", "description": {"text": "Not a string"}}}]}
+                """));
+
+        // Assert
+        GoogleBookResponse.VolumeInfo volumeInfo = response.getItems().getFirst().getVolumeInfo();
+        assertNull(volumeInfo.getTitle());
+        assertTrue(volumeInfo.getAuthors().isEmpty());
+        assertEquals(612, volumeInfo.getPageCount());
+        assertNull(volumeInfo.getDescription());
+    }
+
+    @Test
+    void parseAuthorName_ShouldReturnName() throws IOException {
+        // Act
+        String name = ProviderResponseParsers.parseAuthorName(stream("""
+                {"key": "/authors/OL2693474A", "bio": {"type": "/type/text", "value": "Italian novelist"},
+                "links": [{"title": "Wikipedia", "url": "https://en.wikipedia.org/wiki/Umberto_Eco"}],
+                "name": "Umberto Eco", "birth_date": "5 January 1932"}
+                """));
+
+        // Assert
+        assertEquals("Umberto Eco", name);
+    }
+
+    @Test
+    void parseLibreTranslate_ShouldReadSingleTranslation() throws IOException {
+        // Act
+        LibreTranslateResponse response = ProviderResponseParsers.parseLibreTranslate(stream(
+                "{\"detectedLanguage\": {\"confidence\": 90, \"language\": \"pt\"}, \"translatedText\": \"Hello\"}"));
+
+        // Assert
+        assertEquals(List.of("Hello"), response.translatedTexts());
+        assertFalse(response.batch());
+        assertEquals("pt", response.detectedLanguage());
+        assertNull(response.error());
+    }
+
+    @Test
+    void parseLibreTranslate_ShouldReadBatchTranslation() throws IOException {
+        // Act
+        LibreTranslateResponse response = ProviderResponseParsers.parseLibreTranslate(
+                stream("{\"translatedText\": [\"Hola\", \"Adiós\"]}"));
+
+        // Assert
+        assertEquals(List.of("Hola", "Adiós"), response.translatedTexts());
+        assertTrue(response.batch());
+    }
+
+    @Test
+    void parseLibreTranslateDetection_ShouldReadMostLikelyLanguageOrError() throws IOException {
+        // Act
+        LibreTranslateResponse detected = ProviderResponseParsers.parseLibreTranslateDetection(
+                stream("[{\"confidence\": 90, \"language\": \"en\"}, {\"confidence\": 10, \"language\": \"fr\"}]"));
+        LibreTranslateResponse failed = ProviderResponseParsers.parseLibreTranslateDetection(
+                stream("{\"error\": \"Invalid request\"}"));
+
+        // Assert
+        assertEquals("en", detected.detectedLanguage());
+        assertEquals("Invalid request", failed.error());
+        assertNull(failed.detectedLanguage());
+    }
+
+    @Test
+    void writeLibreTranslateBatch_ShouldWriteTextsAsArrayOfQValues() throws IOException {
+        // Act
+        byte[] body = ProviderResponseParsers.writeLibreTranslateBatch(List.of("Hello", "Say \"bye\""), "en", "es");
+
+        // Assert
+        assertEquals("{\"q\":[\"Hello\",\"Say \\\"bye\\\"\"],\"source\":\"en\",\"target\":\"es\"}",
+                new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
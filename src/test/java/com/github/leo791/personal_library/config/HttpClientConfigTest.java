@@ -0,0 +1,86 @@
+package com.github.leo791.personal_library.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Unit tests for the HTTP transport built by HttpClientConfig. */
+class HttpClientConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void pooledRestTemplate_PublishesPoolMetrics() {
+        // Act
+        HttpClientConfig.pooledRestTemplate("googleBooks", meterRegistry, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), 8);
+
+        // Assert
+        double maxConnections = meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "googleBooks")
+                .gauge()
+                .value();
+        assertEquals(8, maxConnections);
+    }
+
+    @Test
+    void pooledRestTemplate_HungProvider_TimesOut() throws Exception {
+        // The server accepts connections but never answers
+        try (ServerSocket hungServer = new ServerSocket(0)) {
+            RestTemplate restTemplate = HttpClientConfig.pooledRestTemplate("libreTranslate", meterRegistry,
+                    Duration.ofSeconds(1), Duration.ofMillis(200), 2);
+            String url = "http://localhost:" + hungServer.getLocalPort() + "/translate";
+
+            // Act & Assert
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                    () -> restTemplate.getForObject(url, String.class));
+            assertInstanceOf(SocketTimeoutException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void pooledRestTemplate_DecompressesGzipResponses() throws Exception {
+        // The server sends a gzip-encoded body to clients that accept it
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        server.createContext("/volumes", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+                gzip.write("{\"totalItems\":1}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.size());
+            exchange.getResponseBody().write(body.toByteArray());
+            exchange.close();
+        });
+        server.start();
+        try {
+            RestTemplate restTemplate = HttpClientConfig.pooledRestTemplate("googleBooks", meterRegistry,
+                    Duration.ofSeconds(1), Duration.ofSeconds(1), 2);
+
+            // Act
+            String body = restTemplate.getForObject(
+                    "http://localhost:" + server.getAddress().getPort() + "/volumes", String.class);
+
+            // Assert
+            assertTrue(acceptEncoding.get().contains("gzip"));
+            assertEquals("{\"totalItems\":1}", body);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
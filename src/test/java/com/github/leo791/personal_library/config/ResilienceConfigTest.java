@@ -0,0 +1,73 @@
+package com.github.leo791.personal_library.config;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Unit tests for the circuit breakers and bulkheads built by ResilienceConfig. */
+class ResilienceConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceConfig resilienceConfig = new ResilienceConfig();
+
+    @Test
+    void circuitBreaker_OpensAfterProviderFailures() {
+        // Arrange
+        CircuitBreakerRegistry registry = resilienceConfig.circuitBreakerRegistry(meterRegistry, 50, 4, 4,
+                Duration.ofSeconds(30));
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(ResilienceConfig.GOOGLE_BOOKS);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onError(0, TimeUnit.MILLISECONDS,
+                    new ResourceAccessException("Read timed out"));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        double state = meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", ResilienceConfig.GOOGLE_BOOKS)
+                .tag("state", "open")
+                .gauge()
+                .value();
+        assertEquals(1, state);
+    }
+
+    @Test
+    void bulkhead_UsesProviderLimits() {
+        // Arrange
+        BulkheadRegistry registry = resilienceConfig.bulkheadRegistry(meterRegistry, 8, Duration.ofSeconds(5),
+                8, Duration.ofSeconds(5), 1, Duration.ZERO);
+
+        // Act & Assert
+        assertEquals(8, registry.bulkhead(ResilienceConfig.GOOGLE_BOOKS).getBulkheadConfig().getMaxConcurrentCalls());
+        assertThrows(BulkheadFullException.class, () -> registry.bulkhead(ResilienceConfig.LIBRE_TRANSLATE)
+                .executeRunnable(() -> registry.bulkhead(ResilienceConfig.LIBRE_TRANSLATE)
+                        .executeRunnable(() -> { })));
+    }
+
+    @Test
+    void isProviderFailure_IgnoresClientErrorsExceptRateLimiting() {
+        assertTrue(ResilienceConfig.isProviderFailure(new ResourceAccessException("Read timed out")));
+        assertTrue(ResilienceConfig.isProviderFailure(
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+        assertTrue(ResilienceConfig.isProviderFailure(
+                new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        assertFalse(ResilienceConfig.isProviderFailure(new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        assertFalse(ResilienceConfig.isProviderFailure(BulkheadFullException.createBulkheadFullException(
+                BulkheadRegistry.ofDefaults().bulkhead(ResilienceConfig.OPEN_LIBRARY))));
+    }
+}
@@ -1,22 +1,36 @@
 package com.github.leo791.personal_library.exception;
 
+import com.github.leo791.personal_library.config.ResilienceConfig;
 import com.github.leo791.personal_library.controller.BookController;
 import com.github.leo791.personal_library.repository.BookRepository;
+import com.github.leo791.personal_library.service.BookExportService;
 import com.github.leo791.personal_library.service.BookService;
+import com.github.leo791.personal_library.service.BulkImportService;
+import com.github.leo791.personal_library.service.InsertJobService;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(BookController.class)
+@WebMvcTest(controllers = BookController.class, properties = "book-export.max-concurrent=1")
 class GlobalExceptionHandlerTest {
 
     @TestConfiguration
@@ -26,6 +40,18 @@ class GlobalExceptionHandlerTest {
             return Mockito.mock(BookService.class);
         }
         @Bean
+        public BulkImportService bulkImportService() {
+            return Mockito.mock(BulkImportService.class);
+        }
+        @Bean
+        public InsertJobService insertJobService() {
+            return Mockito.mock(InsertJobService.class);
+        }
+        @Bean
+        public BookExportService bookExportService() {
+            return Mockito.mock(BookExportService.class);
+        }
+        @Bean
         public BookRepository bookRepository() {
             return Mockito.mock(BookRepository.class);
         }
@@ -40,6 +66,12 @@ class GlobalExceptionHandlerTest {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private InsertJobService insertJobService;
+
+    @Autowired
+    private BookExportService bookExportService;
+
     private final String isbn = "1234567890";
 
     @Test
@@ -70,6 +102,45 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.links.searchBook").value("/api/v1/books/" + isbn));
     }
 
+    @Test
+    void handleCachedExternalBookNotFoundException() throws Exception {
+        String unknownIsbn = "9780441172719";
+        Mockito.when(bookService.insertBookFromIsbn(unknownIsbn))
+                .thenThrow(new ExternalBookNotFoundException(unknownIsbn, true));
+
+        mockMvc.perform(post("/api/v1/books?isbn=" + unknownIsbn)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Book not found in external APIs (cached result)"))
+                .andExpect(jsonPath("$.isbn").value(unknownIsbn))
+                .andExpect(jsonPath("$.links.manualAdd").value("/api/v1/books/manual"));
+    }
+
+    @Test
+    void handleTaskRejectedException() throws Exception {
+        Mockito.when(insertJobService.submit(isbn))
+                .thenThrow(new TaskRejectedException("Executor queue is full"));
+
+        mockMvc.perform(post("/api/v1/books/async?isbn=" + isbn)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Too many pending insert jobs"))
+                .andExpect(jsonPath("$.nextStep").value("Try again later."));
+    }
+
+    @Test
+    void handleProviderUnavailableException() throws Exception {
+        Mockito.when(bookService.insertBookFromIsbn("9780141439518"))
+                .thenThrow(CallNotPermittedException.createCallNotPermittedException(
+                        CircuitBreaker.ofDefaults(ResilienceConfig.OPEN_LIBRARY)));
+
+        mockMvc.perform(post("/api/v1/books?isbn=9780141439518")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("External API unavailable"))
+                .andExpect(jsonPath("$.nextStep").value("Try again later."));
+    }
+
     @Test
     void handleUnexpectedException() throws Exception {
         Mockito.when(bookService.getBookByIsbn(anyString()))
@@ -94,5 +165,54 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.nextStep").value("Check the request parameters."));
     }
 
+    @Test
+    void exportBooks_BlankQuery_WritesErrorAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/books?q= ")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"error\":\"Invalid argument\"")))
+                .andExpect(content().string(containsString("\"nextStep\":\"Check the request parameters.\"")));
+        Mockito.verifyNoInteractions(bookExportService);
+    }
 
+    @Test
+    void exportBooks_TooManyExports() throws Exception {
+        CountDownLatch exportStarted = new CountDownLatch(1);
+        CountDownLatch finishExport = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            exportStarted.countDown();
+            finishExport.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(bookExportService).exportBooks(any(), any(), any(), any(), any());
+
+        MvcResult runningExport = mockMvc.perform(get("/api/v1/books")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        Assertions.assertTrue(exportStarted.await(5, TimeUnit.SECONDS));
+        MvcResult rejectedExport = mockMvc.perform(get("/api/v1/books")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(rejectedExport))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"error\":\"Too many exports in progress\"")));
+        finishExport.countDown();
+        mockMvc.perform(asyncDispatch(runningExport))
+                .andExpect(status().isOk());
+
+        // The finished export gives its place back
+        MvcResult nextExport = mockMvc.perform(get("/api/v1/books")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(nextExport))
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,56 @@
+package com.github.leo791.personal_library.model.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoogleBookResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deserialize() throws Exception {
+        String json = """
+                {"kind": "books#volumes", "totalItems": 1, "items": [{"id": "abc", "volumeInfo": {
+                  "title": "Dune", "authors": ["Frank Herbert"], "publisher": "Ace", "publishedDate": "1990-09-01",
+                  "categories": ["Fiction"], "description": "Desert planet.", "language": "en", "pageCount": 535,
+                  "industryIdentifiers": [{"type": "ISBN_13", "identifier": "9780441172719"}],
+                  "imageLinks": {"thumbnail": "http://example.com"}}}]}
+                """;
+
+        GoogleBookResponse response = objectMapper.readValue(json, GoogleBookResponse.class);
+
+        assertTrue(response.hasItems());
+        GoogleBookResponse.VolumeInfo volumeInfo = response.getItems().getFirst().getVolumeInfo();
+        assertEquals("Dune", volumeInfo.getTitle());
+        assertEquals(List.of("Frank Herbert"), volumeInfo.getAuthors());
+        assertEquals(535, volumeInfo.getPageCount());
+        assertEquals("9780441172719", volumeInfo.getIndustryIdentifiers().getFirst().getIdentifier());
+    }
+
+    @Test
+    void deserialize_NoItems() throws Exception {
+        GoogleBookResponse response = objectMapper.readValue("{\"kind\": \"books#volumes\", \"totalItems\": 0}",
+                GoogleBookResponse.class);
+
+        assertFalse(response.hasItems());
+        assertTrue(response.getItems().isEmpty());
+    }
+
+    @Test
+    void isImmutable() {
+        List<GoogleBookResponse.Item> items = new ArrayList<>();
+        items.add(new GoogleBookResponse.Item(null));
+        GoogleBookResponse response = new GoogleBookResponse(1, items);
+
+        // Changing the source list must not change the response
+        items.clear();
+
+        assertEquals(1, response.getItems().size());
+        assertThrows(UnsupportedOperationException.class, () -> response.getItems().clear());
+    }
+}
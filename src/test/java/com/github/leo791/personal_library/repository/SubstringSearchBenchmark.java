@@ -0,0 +1,178 @@
+package com.github.leo791.personal_library.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the substring searches of BookRepository on a synthetic books table, comparing the queries generated for
+ * the derived find*ContainingIgnoreCase methods without indexes with the lower(column) queries answered by the trigram
+ * indexes of the V3 migration.
+ * The table is created in its own schema, which is dropped at the end. It is not run by the test suite, run it with:
+ * mvn test-compile exec:java -Dexec.mainClass=com.github.leo791.personal_library.repository.SubstringSearchBenchmark
+ * -Dexec.classpathScope=test -Dexec.args="jdbc:postgresql://localhost:5432/library user password 3000000"
+ */
+public class SubstringSearchBenchmark {
+
+    private static final String SCHEMA = "substring_search_benchmark";
+    private static final int RUNS = 5;
+
+    private static final String WORDS = """
+            'shadow','river','king','night','garden','secret','house','winter','city','stone','fire','silent','last',\
+            'lost','queen','war','love','blood','summer','dream','island','journey','moon','glass','iron','storm',\
+            'forest','empire','ghost','light','dark','heart','road','sea','star','wind','golden','hidden','broken',\
+            'lighthouse','orchard','harbor','mirror','letter','daughter','prince','wolf','crown','bridge','tower'""";
+    private static final String FIRST_NAMES = """
+            'Ana','John','Maria','David','Sofia','James','Elena','Peter','Laura','Miguel','Clara','Thomas','Ines',\
+            'Robert','Julia','Carlos','Emma','Jose','Alice','Henry'""";
+    private static final String LAST_NAMES = """
+            'Silva','Smith','Santos','Brown','Costa','Jones','Pereira','Miller','Ferreira','Davis','Oliveira','Wilson',\
+            'Rodrigues','Moore','Martins','Taylor','Sousa','Anderson','Fernandes','Thomas','Okonkwo','Lindqvist',\
+            'Nakamura','Kowalski','Haddad','Novak','Dubois','Rossi','Schmidt','Ivanova'""";
+    private static final String GENRES = """
+            'Fiction','Mystery','Fantasy','Science Fiction','Romance','Horror','Biography','History','Poetry',\
+            'Thriller','Philosophy','Travel','Cooking','Art','Science','Children','Drama','Essays','Humor','Religion'""";
+
+    private record Search(String column, String term) {
+    }
+
+    private static final List<Search> SEARCHES = List.of(
+            new Search("title", "lighthouse"),
+            new Search("title", "9c4e1"),
+            new Search("author", "okonkwo"),
+            new Search("genre", "myster"),
+            new Search("title", "zzzz"));
+
+    public static void main(String[] args) throws SQLException {
+        String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/postgres";
+        String user = args.length > 1 ? args[1] : "postgres";
+        String password = args.length > 2 ? args[2] : "";
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 3_000_000;
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            try {
+                long start = System.nanoTime();
+                createTable(connection, rows);
+                System.out.printf("Generated %,d books in %,d ms%n%n", rows, millisSince(start));
+
+                // Queries generated by Hibernate for the derived find*ContainingIgnoreCase methods
+                long[] before = new long[SEARCHES.size()];
+                int[] matches = new int[SEARCHES.size()];
+                for (int i = 0; i < SEARCHES.size(); i++) {
+                    Search search = SEARCHES.get(i);
+                    String sql = "select * from books where upper(" + search.column() + ") like upper(?) escape '\\'";
+                    matches[i] = run(connection, sql, search.term());
+                    before[i] = median(connection, sql, search.term());
+                }
+
+                start = System.nanoTime();
+                execute(connection, "create extension if not exists pg_trgm with schema public");
+                execute(connection, "create index on books using gin (lower(title) gin_trgm_ops)");
+                execute(connection, "create index on books using gin (lower(author) gin_trgm_ops)");
+                execute(connection, "create index on books using gin (lower(genre) gin_trgm_ops)");
+                execute(connection, "analyze books");
+                System.out.printf("Built the trigram indexes in %,d ms%n%n", millisSince(start));
+
+                System.out.printf("%-28s %10s %12s %12s   %s%n", "Search", "Matches", "Before (ms)", "After (ms)",
+                        "Plan after");
+                for (int i = 0; i < SEARCHES.size(); i++) {
+                    Search search = SEARCHES.get(i);
+                    String sql = "select * from books where lower(" + search.column() + ") like lower(?) escape '\\'";
+                    long after = median(connection, sql, search.term());
+                    System.out.printf("%-28s %,10d %,12d %,12d   %s%n", search.column() + " ~ '" + search.term() + "'",
+                            matches[i], before[i], after, plan(connection, sql, search.term()));
+                }
+            } finally {
+                execute(connection, "drop schema if exists " + SCHEMA + " cascade");
+            }
+        }
+    }
+
+    private static void createTable(Connection connection, int rows) throws SQLException {
+        execute(connection, "drop schema if exists " + SCHEMA + " cascade");
+        execute(connection, "create schema " + SCHEMA);
+        execute(connection, "set search_path to " + SCHEMA + ", public");
+        execute(connection, """
+                create table books (
+                    id bigint generated by default as identity primary key,
+                    isbn varchar(13) not null unique,
+                    title varchar(255),
+                    author varchar(255),
+                    genre varchar(255)
+                )""");
+        execute(connection, "select setseed(0.42)");
+        // Titles are three words and a rare one, so searches range from a few matches to a few percent of the books
+        try (PreparedStatement statement = connection.prepareStatement("""
+                insert into books (isbn, title, author, genre)
+                select lpad(i::text, 13, '0'),
+                       initcap(w[1 + floor(random() * cardinality(w))::int] || ' '
+                               || w[1 + floor(random() * cardinality(w))::int] || ' of the '
+                               || w[1 + floor(random() * cardinality(w))::int] || ' ' || substr(md5(i::text), 1, 6)),
+                       f[1 + floor(random() * cardinality(f))::int] || ' ' || l[1 + floor(random() * cardinality(l))::int],
+                       g[1 + floor(random() * cardinality(g))::int]
+                from generate_series(1, ?) i,
+                     (select array[%s] w, array[%s] f, array[%s] l, array[%s] g) lists
+                """.formatted(WORDS, FIRST_NAMES, LAST_NAMES, GENRES))) {
+            statement.setInt(1, rows);
+            statement.executeUpdate();
+        }
+        execute(connection, "analyze books");
+    }
+
+    // Median time of the search, reading every matching row
+    private static long median(Connection connection, String sql, String term) throws SQLException {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run(connection, sql, term);
+            millis[i] = millisSince(start);
+        }
+        Arrays.sort(millis);
+        return millis[RUNS / 2];
+    }
+
+    private static int run(Connection connection, String sql, String term) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, "%" + term + "%");
+            int count = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    // Scan node of the query plan
+    private static String plan(Connection connection, String sql, String term) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+            statement.setString(1, "%" + term + "%");
+            String scan = "";
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String line = resultSet.getString(1).replace("->", "").strip();
+                    if (line.contains("Scan")) {
+                        scan = line.contains("  (") ? line.substring(0, line.indexOf("  (")) : line;
+                    }
+                }
+            }
+            return scan;
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
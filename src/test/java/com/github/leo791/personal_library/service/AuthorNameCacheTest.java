@@ -0,0 +1,119 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.OpenLibraryClient;
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.model.entity.OpenLibraryAuthor;
+import com.github.leo791.personal_library.repository.OpenLibraryAuthorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the AuthorNameCache class. */
+@ExtendWith(MockitoExtension.class)
+class AuthorNameCacheTest {
+
+    private final String authorKey = "/authors/OL25342A";
+
+    @Mock
+    private OpenLibraryClient openLibraryClient;
+
+    @Mock
+    private OpenLibraryAuthorRepository authorRepository;
+
+    private AuthorNameCache authorNameCache(boolean persistent) {
+        return new AuthorNameCache(openLibraryClient, authorRepository,
+                new ConcurrentMapCacheManager(CacheConfig.OPEN_LIBRARY_AUTHORS_CACHE), persistent);
+    }
+
+    @Test
+    void getAuthorName_FetchesUnknownAuthorOnce() throws Exception {
+        // Arrange
+        AuthorNameCache cache = authorNameCache(true);
+
+        // Mock
+        when(authorRepository.findById(authorKey)).thenReturn(Optional.empty());
+        when(openLibraryClient.fetchAuthorByKey(authorKey)).thenReturn("Mary Shelley");
+
+        // Act
+        String first = cache.getAuthorName(authorKey);
+        String second = cache.getAuthorName(authorKey);
+
+        // Assert
+        assertEquals("Mary Shelley", first);
+        assertEquals("Mary Shelley", second);
+        verify(openLibraryClient, times(1)).fetchAuthorByKey(authorKey);
+        verify(authorRepository).save(new OpenLibraryAuthor(authorKey, "Mary Shelley"));
+    }
+
+    @Test
+    void getAuthorName_StoredAuthor_SkipsOpenLibrary() throws Exception {
+        // Arrange
+        AuthorNameCache cache = authorNameCache(true);
+
+        // Mock
+        when(authorRepository.findById(authorKey))
+                .thenReturn(Optional.of(new OpenLibraryAuthor(authorKey, "Mary Shelley")));
+
+        // Act
+        String name = cache.getAuthorName(authorKey);
+
+        // Assert
+        assertEquals("Mary Shelley", name);
+        verifyNoInteractions(openLibraryClient);
+        verify(authorRepository, never()).save(any());
+    }
+
+    @Test
+    void getAuthorName_NotPersistent_SkipsDatabase() throws Exception {
+        // Arrange
+        AuthorNameCache cache = authorNameCache(false);
+
+        // Mock
+        when(openLibraryClient.fetchAuthorByKey(authorKey)).thenReturn("Mary Shelley");
+
+        // Act
+        String name = cache.getAuthorName(authorKey);
+
+        // Assert
+        assertEquals("Mary Shelley", name);
+        verifyNoInteractions(authorRepository);
+    }
+
+    @Test
+    void getAuthorName_SaveFails_ReturnsFetchedName() throws Exception {
+        // Arrange
+        AuthorNameCache cache = authorNameCache(true);
+
+        // Mock
+        when(authorRepository.findById(authorKey)).thenReturn(Optional.empty());
+        when(openLibraryClient.fetchAuthorByKey(authorKey)).thenReturn("Mary Shelley");
+        when(authorRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertEquals("Mary Shelley", cache.getAuthorName(authorKey));
+    }
+
+    @Test
+    void getAuthorName_FetchFails_IsNotCached() throws Exception {
+        // Arrange
+        AuthorNameCache cache = authorNameCache(false);
+
+        // Mock
+        when(openLibraryClient.fetchAuthorByKey(authorKey))
+                .thenThrow(new RuntimeException("Open Library API error"))
+                .thenReturn("Mary Shelley");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> cache.getAuthorName(authorKey));
+        assertEquals("Mary Shelley", cache.getAuthorName(authorKey));
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.LibreTranslateClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the BatchingTranslator class. */
+@ExtendWith(MockitoExtension.class)
+class BatchingTranslatorTest {
+
+    @Mock
+    private LibreTranslateClient libreTranslateClient;
+
+    @Test
+    void translate_FullBatch_SentAtOnce() throws Exception {
+        // Arrange
+        BatchingTranslator batchingTranslator = new BatchingTranslator(libreTranslateClient, Duration.ofHours(1), 2, 10_000);
+
+        // Mock
+        when(libreTranslateClient.translateBatch(List.of("Hello", "Goodbye"), "en", "es"))
+                .thenReturn(List.of("Hola", "Adiós"));
+
+        // Act
+        CompletableFuture<String> hello = batchingTranslator.translate("Hello", "en", "es");
+        CompletableFuture<String> goodbye = batchingTranslator.translate("Goodbye", "en", "es");
+
+        // Assert
+        assertEquals("Hola", hello.get(1, TimeUnit.SECONDS));
+        assertEquals("Adiós", goodbye.get(1, TimeUnit.SECONDS));
+        verify(libreTranslateClient, times(1)).translateBatch(anyList(), anyString(), anyString());
+    }
+
+    @Test
+    void translate_CharacterLimit_SendsBatch() throws Exception {
+        // Arrange
+        BatchingTranslator batchingTranslator = new BatchingTranslator(libreTranslateClient, Duration.ofHours(1), 16, 5);
+
+        // Mock
+        when(libreTranslateClient.translateBatch(List.of("Hello"), "en", "es")).thenReturn(List.of("Hola"));
+
+        // Act & Assert
+        assertEquals("Hola", batchingTranslator.translate("Hello", "en", "es").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void translate_TextOverCharacterLimit_SendsPendingBatchFirst() throws Exception {
+        // Arrange
+        BatchingTranslator batchingTranslator = new BatchingTranslator(libreTranslateClient, Duration.ofHours(1), 16, 10);
+
+        // Mock
+        when(libreTranslateClient.translateBatch(List.of("Hello"), "en", "es")).thenReturn(List.of("Hola"));
+        when(libreTranslateClient.translateBatch(List.of("Goodbye", "Bye"), "en", "es"))
+                .thenReturn(List.of("Adiós", "Chao"));
+
+        // Act
+        CompletableFuture<String> hello = batchingTranslator.translate("Hello", "en", "es");
+        CompletableFuture<String> goodbye = batchingTranslator.translate("Goodbye", "en", "es");
+        boolean helloSentBeforeGoodbyeBatchFilled = hello.isDone();
+        CompletableFuture<String> bye = batchingTranslator.translate("Bye", "en", "es");
+
+        // Assert
+        assertTrue(helloSentBeforeGoodbyeBatchFilled);
+        assertEquals("Hola", hello.get(1, TimeUnit.SECONDS));
+        assertEquals("Adiós", goodbye.get(1, TimeUnit.SECONDS));
+        assertEquals("Chao", bye.get(1, TimeUnit.SECONDS));
+        verify(libreTranslateClient, times(2)).translateBatch(anyList(), anyString(), anyString());
+    }
+
+    @Test
+    void translate_WindowPassed_SendsPartialBatchesPerLanguagePair() throws Exception {
+        // Arrange
+        BatchingTranslator batchingTranslator = new BatchingTranslator(libreTranslateClient, Duration.ofMillis(20), 16, 10_000);
+
+        // Mock
+        when(libreTranslateClient.translateBatch(List.of("Hello"), "en", "es")).thenReturn(List.of("Hola"));
+        when(libreTranslateClient.translateBatch(List.of("Hello"), "en", "fr")).thenReturn(List.of("Bonjour"));
+
+        // Act
+        CompletableFuture<String> spanish = batchingTranslator.translate("Hello", "en", "es");
+        CompletableFuture<String> french = batchingTranslator.translate("Hello", "en", "fr");
+
+        // Assert
+        assertEquals("Hola", spanish.get(5, TimeUnit.SECONDS));
+        assertEquals("Bonjour", french.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void translate_RequestFails_FailsEveryText() throws Exception {
+        // Arrange
+        BatchingTranslator batchingTranslator = new BatchingTranslator(libreTranslateClient, Duration.ofHours(1), 2, 10_000);
+
+        // Mock
+        when(libreTranslateClient.translateBatch(anyList(), anyString(), anyString()))
+                .thenThrow(new Exception("LibreTranslate unavailable"));
+
+        // Act
+        CompletableFuture<String> hello = batchingTranslator.translate("Hello", "en", "es");
+        CompletableFuture<String> goodbye = batchingTranslator.translate("Goodbye", "en", "es");
+
+        // Assert
+        ExecutionException helloError = assertThrows(ExecutionException.class, () -> hello.get(1, TimeUnit.SECONDS));
+        assertEquals("LibreTranslate unavailable", helloError.getCause().getMessage());
+        assertThrows(ExecutionException.class, () -> goodbye.get(1, TimeUnit.SECONDS));
+    }
+}
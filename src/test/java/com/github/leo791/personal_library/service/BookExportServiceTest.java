@@ -0,0 +1,107 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.entity.Book;
+import com.github.leo791.personal_library.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the BookExportService class. */
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BookExportService bookExportService;
+
+    private final Book shining = new Book("9780307743657", "The Shining", "Stephen King", "Horror",
+            null, "en", null, null, null);
+    private final Book mercedes = new Book("9781476754475", "Mr. Mercedes", "Stephen King", "Fiction",
+            null, "en", null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        bookExportService = new BookExportService(bookRepository, new BookMapper(), entityManager);
+    }
+
+    private List<String> export(String query, String title, String author, String genre) throws IOException {
+        List<String> titles = new ArrayList<>();
+        bookExportService.exportBooks(query, title, author, genre, book -> titles.add(book.getTitle()));
+        return titles;
+    }
+
+    @Test
+    void exportBooks_WritesAndDetachesEachBookInOrder() throws IOException {
+        // Mock
+        when(bookRepository.streamAll()).thenReturn(Stream.of(shining, mercedes));
+        BookExportService.BookWriter writer = mock(BookExportService.BookWriter.class);
+
+        // Act
+        bookExportService.exportBooks(null, null, null, null, writer);
+
+        // Assert
+        InOrder inOrder = inOrder(writer, entityManager);
+        inOrder.verify(writer).write(argThat(book -> book.getTitle().equals("The Shining")));
+        inOrder.verify(entityManager).detach(shining);
+        inOrder.verify(writer).write(argThat(book -> book.getTitle().equals("Mr. Mercedes")));
+        inOrder.verify(entityManager).detach(mercedes);
+    }
+
+    @Test
+    void exportBooks_UsesTheSearchCriteriaInOrderOfPrecedence() throws IOException {
+        // Mock
+        when(bookRepository.streamFullText("king")).thenReturn(Stream.of(shining, mercedes));
+        when(bookRepository.streamByTitleContainingIgnoreCase("shin")).thenReturn(Stream.of(shining));
+        when(bookRepository.streamByAuthorContainingIgnoreCase("King")).thenReturn(Stream.of(mercedes));
+        when(bookRepository.streamByGenreContainingIgnoreCase("Fic")).thenReturn(Stream.of(mercedes));
+
+        // Act & Assert
+        assertEquals(List.of("The Shining", "Mr. Mercedes"), export(" king ", "shin", "King", "Fic"));
+        assertEquals(List.of("The Shining"), export(null, "shin", "King", "Fic"));
+        assertEquals(List.of("Mr. Mercedes"), export(null, null, "King", "Fic"));
+        assertEquals(List.of("Mr. Mercedes"), export(null, null, null, "Fic"));
+        verify(bookRepository, never()).streamAll();
+    }
+
+    @Test
+    void exportBooks_BlankQuery_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> export(" ", null, null, null));
+        assertEquals("Search query cannot be blank", exception.getMessage());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void exportBooks_WriterFails_StopsAndClosesTheStream() {
+        // Mock
+        AtomicBoolean closed = new AtomicBoolean();
+        when(bookRepository.streamAll()).thenReturn(Stream.of(shining, mercedes).onClose(() -> closed.set(true)));
+        BookExportService.BookWriter failingWriter = book -> {
+            throw new IOException("Broken pipe");
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> bookExportService.exportBooks(null, null, null, null, failingWriter));
+        assertTrue(closed.get());
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -31,20 +31,13 @@ class BookMapperTest {
         // Arrange a googleBooksClient response
         GoogleBookResponse.IndustryIdentifier isbn10 = new GoogleBookResponse.IndustryIdentifier("ISBN_10", "1234567890");
 
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setTitle("Frankenstein");
-        volumeInfo.setAuthors(List.of("Mary Shelley"));
-        volumeInfo.setCategories(List.of("Horror"));
-        volumeInfo.setIndustryIdentifiers(List.of(isbn10));
-        volumeInfo.setPageCount(299);
+        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo(
+                "Frankenstein", List.of("Mary Shelley"), null, null, null, List.of("Horror"),
+                null, null, 299, List.of(isbn10));
 
-        GoogleBookResponse.Item item = new GoogleBookResponse.Item();
-        item.setVolumeInfo(volumeInfo);
+        GoogleBookResponse.Item item = new GoogleBookResponse.Item(volumeInfo);
 
-
-        this.mockGoogleBookResponse = new GoogleBookResponse();
-        this.mockGoogleBookResponse.setTotalItems(1);
-        this.mockGoogleBookResponse.setItems(List.of(item));
+        this.mockGoogleBookResponse = new GoogleBookResponse(1, List.of(item));
     }
 
     private void setUpOpenLibraryResponse() {
@@ -182,9 +175,7 @@ class BookMapperTest {
 
     @Test
     void fromGoogleResponseToBook_NoItems() {
-        GoogleBookResponse emptyResponse = new GoogleBookResponse();
-        emptyResponse.setTotalItems(0);
-        emptyResponse.setItems(List.of());
+        GoogleBookResponse emptyResponse = new GoogleBookResponse(0, List.of());
 
         BookMapper bookMapper = new BookMapper();
         var book = bookMapper.fromGoogleResponseToBook(emptyResponse, "1234567890");
@@ -192,6 +183,32 @@ class BookMapperTest {
         assertNull(book, "Should return null if there are no items in the response");
     }
 
+    @Test
+    void fromGoogleResponseToBook_NullItems() {
+        GoogleBookResponse emptyResponse = new GoogleBookResponse(0, null);
+
+        BookMapper bookMapper = new BookMapper();
+        var book = bookMapper.fromGoogleResponseToBook(emptyResponse, "1234567890");
+
+        assertNull(book, "Should return null if the response has no items list");
+    }
+
+    @Test
+    void fromGoogleResponseToBook_UsesItsOwnResponse() {
+        // Each response is independent, creating a second one must not affect the first
+        setUpGoogleBooksResponse();
+        GoogleBookResponse otherResponse = new GoogleBookResponse(1, List.of(new GoogleBookResponse.Item(
+                new GoogleBookResponse.VolumeInfo("Dune", List.of("Frank Herbert"), null, null, null,
+                        null, null, null, 412, null))));
+
+        BookMapper bookMapper = new BookMapper();
+        var book = bookMapper.fromGoogleResponseToBook(mockGoogleBookResponse, "1234567890");
+        var otherBook = bookMapper.fromGoogleResponseToBook(otherResponse, "0441172717");
+
+        assertEquals("Frankenstein", book.getTitle());
+        assertEquals("Dune", otherBook.getTitle());
+    }
+
     @Test
     void fromOpenLibraryResponseToBook(){
         setUpOpenLibraryResponse();
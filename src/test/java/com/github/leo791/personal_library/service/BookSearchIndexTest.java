@@ -0,0 +1,192 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BookPage;
+import com.github.leo791.personal_library.model.entity.Book;
+import com.github.leo791.personal_library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the BookSearchIndex class. */
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookSearchIndex bookSearchIndex;
+
+    private final Book littlePrince = book(1L, "9789722060172", "The Little Prince", "Antoine de Saint-Exupéry", "Fiction");
+    private final Book shining = book(2L, "9780307743657", "The Shining", "Stephen King", "Horror");
+    private final Book mercedes = book(3L, "9781476754475", "Mr. Mercedes", "Stephen King", "Fiction");
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex = new BookSearchIndex(bookRepository, new BookMapper(), true);
+    }
+
+    private static Book book(Long id, String isbn, String title, String author, String genre) {
+        Book book = new Book(isbn, title, author, genre, null, "en", null, null, null);
+        book.setId(id);
+        return book;
+    }
+
+    private static List<String> titles(List<BookDTO> books) {
+        return books.stream().map(BookDTO::getTitle).toList();
+    }
+
+    private List<String> search(BookSearchIndex.Field field, String term) {
+        return titles(bookSearchIndex.search(field, term, 0, 10).getBooks());
+    }
+
+    private List<String> allTitles() {
+        return titles(bookSearchIndex.findAll(0, 10).getBooks());
+    }
+
+    @Test
+    void build_IndexesEveryBookOfTheDatabase() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of(mercedes, littlePrince, shining));
+
+        // Act
+        assertFalse(bookSearchIndex.isReady());
+        bookSearchIndex.build();
+
+        // Assert
+        assertTrue(bookSearchIndex.isReady());
+        assertEquals(List.of("The Little Prince", "The Shining", "Mr. Mercedes"), allTitles());
+    }
+
+    @Test
+    void build_Disabled_StaysNotReady() {
+        // Arrange
+        bookSearchIndex = new BookSearchIndex(bookRepository, new BookMapper(), false);
+
+        // Act
+        bookSearchIndex.build();
+
+        // Assert
+        assertFalse(bookSearchIndex.isReady());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void search_MatchesSubstringsIgnoringCaseAndAccents() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of(littlePrince, shining, mercedes));
+        bookSearchIndex.build();
+
+        // Act & Assert
+        assertEquals(List.of("The Little Prince", "The Shining"),
+                search(BookSearchIndex.Field.TITLE, "THE"));
+        assertEquals(List.of("The Shining"), search(BookSearchIndex.Field.TITLE, "shin"));
+        assertEquals(List.of("The Little Prince"), search(BookSearchIndex.Field.TITLE, "e lit"));
+        assertEquals(List.of("The Little Prince"),
+                search(BookSearchIndex.Field.AUTHOR, "saint-exupery"));
+        assertEquals(List.of("The Shining", "Mr. Mercedes"),
+                search(BookSearchIndex.Field.AUTHOR, "King"));
+        assertEquals(List.of("The Little Prince", "Mr. Mercedes"),
+                search(BookSearchIndex.Field.GENRE, "fic"));
+        assertEquals(List.of("The Shining"), search(BookSearchIndex.Field.GENRE, "ho"));
+        assertEquals(List.of(), search(BookSearchIndex.Field.TITLE, "Carrie"));
+        assertEquals(List.of(), search(BookSearchIndex.Field.TITLE, "Horror"));
+    }
+
+    @Test
+    void search_PagesFromTheLastIdOfThePreviousPage() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of(littlePrince, shining, mercedes));
+        bookSearchIndex.build();
+
+        // Act
+        BookPage firstPage = bookSearchIndex.search(BookSearchIndex.Field.TITLE, "e", 0, 2);
+        BookPage secondPage = bookSearchIndex.search(BookSearchIndex.Field.TITLE, "e",
+                BookCursor.decode(firstPage.getNextCursor(), false).id(), 2);
+        BookPage allBooks = bookSearchIndex.findAll(1, 2);
+
+        // Assert
+        assertEquals(List.of("The Little Prince", "The Shining"), titles(firstPage.getBooks()));
+        assertEquals(List.of("Mr. Mercedes"), titles(secondPage.getBooks()));
+        assertNull(secondPage.getNextCursor());
+        assertEquals(List.of("The Shining", "Mr. Mercedes"), titles(allBooks.getBooks()));
+        assertNull(allBooks.getNextCursor());
+    }
+
+    @Test
+    void search_PagesTrigramMatchesInIdOrder() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of(mercedes, littlePrince, shining));
+        bookSearchIndex.build();
+
+        // Act
+        BookPage firstPage = bookSearchIndex.search(BookSearchIndex.Field.AUTHOR, "king", 0, 1);
+        BookPage secondPage = bookSearchIndex.search(BookSearchIndex.Field.AUTHOR, "king",
+                BookCursor.decode(firstPage.getNextCursor(), false).id(), 1);
+
+        // Assert
+        assertEquals(List.of("The Shining"), titles(firstPage.getBooks()));
+        assertEquals(List.of("Mr. Mercedes"), titles(secondPage.getBooks()));
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void put_AddsAndReplacesBooks() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of(littlePrince));
+        bookSearchIndex.build();
+
+        // Act
+        bookSearchIndex.put(shining);
+        Book renamed = book(1L, "9789722060172", "Le Petit Prince", "Antoine de Saint-Exupéry", "Fiction");
+        bookSearchIndex.put(renamed);
+
+        // Assert
+        assertEquals(List.of("Le Petit Prince", "The Shining"), allTitles());
+        assertEquals(List.of("Le Petit Prince"), search(BookSearchIndex.Field.TITLE, "petit"));
+        assertEquals(List.of(), search(BookSearchIndex.Field.TITLE, "little"));
+    }
+
+    @Test
+    void remove_RemovesBooks() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of(shining, mercedes));
+        bookSearchIndex.build();
+
+        // Act
+        bookSearchIndex.remove(shining);
+
+        // Assert
+        assertEquals(List.of("Mr. Mercedes"), search(BookSearchIndex.Field.AUTHOR, "king"));
+        assertEquals(List.of(), search(BookSearchIndex.Field.TITLE, "shining"));
+    }
+
+    @Test
+    void put_InTransaction_AppliedOnlyAfterCommit() {
+        // Mock
+        when(bookRepository.findAll()).thenReturn(List.of());
+        bookSearchIndex.build();
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookSearchIndex.put(shining);
+            assertEquals(List.of(), allTitles());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(List.of("The Shining"), allTitles());
+    }
+}
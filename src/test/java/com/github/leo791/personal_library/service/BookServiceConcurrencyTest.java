@@ -0,0 +1,203 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.GoogleBooksClient;
+import com.github.leo791.personal_library.client.LibreTranslateClient;
+import com.github.leo791.personal_library.client.OpenLibraryClient;
+import com.github.leo791.personal_library.client.OpenLibraryDumpClient;
+import com.github.leo791.personal_library.exception.BookExistsException;
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.entity.Book;
+import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
+import com.github.leo791.personal_library.repository.BookRepository;
+import com.github.leo791.personal_library.util.IsbnUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress test for inserting books from many threads at once.
+ * Every ISBN gets its own Google Books response, so any state shared between requests
+ * shows up as a book saved or returned with another ISBN's data.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookServiceConcurrencyTest {
+
+    private static final int INSERTS = 500;
+    private static final int THREADS = 64;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private GoogleBooksClient googleBooksClient;
+
+    @Mock
+    private LibreTranslateClient libreTranslateClient;
+
+    @Mock
+    private OpenLibraryClient openLibraryClient;
+
+    @Mock
+    private OpenLibraryDumpClient openLibraryDumpClient;
+
+    @Mock
+    private UnknownIsbnCache unknownIsbnCache;
+
+    @Mock
+    private AuthorNameCache authorNameCache;
+
+    @Mock
+    private TranslationCache translationCache;
+
+    @Mock
+    private LanguageDetector languageDetector;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        bookService = new BookService(bookRepository, new BookMapper(), googleBooksClient,
+                libreTranslateClient, openLibraryClient, openLibraryDumpClient, unknownIsbnCache,
+                authorNameCache, translationCache, languageDetector, bookSearchIndex,
+                false, BookService.LookupMode.SEQUENTIAL, Duration.ZERO, 100, 1000);
+    }
+
+    @Test
+    void insertBookFromIsbn_ConcurrentInsertsDoNotLeakBetweenRequests() throws Exception {
+        // Arrange
+        List<String> isbns = new ArrayList<>();
+        for (int i = 0; i < INSERTS; i++) {
+            isbns.add(isbn13(i));
+        }
+        Map<String, Book> savedBooks = new ConcurrentHashMap<>();
+
+        // Mock
+        when(bookRepository.existsByIsbn(anyString())).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(anyString(), anyBoolean())).thenAnswer(invocation -> {
+            String isbn = invocation.getArgument(0);
+            GoogleBookResponse response = googleResponseFor(isbn);
+            // Give other requests the chance to run between fetching and mapping the response
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            return response;
+        });
+        when(libreTranslateClient.detect(anyString())).thenReturn("en");
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> {
+            Book book = invocation.getArgument(0);
+            savedBooks.put(book.getIsbn(), book);
+            return book;
+        });
+
+        // Act
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Future<BookDTO>> results = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (String isbn : isbns) {
+                results.put(isbn, executor.submit(() -> {
+                    start.await();
+                    return bookService.insertBookFromIsbn(isbn);
+                }));
+            }
+            start.countDown();
+        }
+
+        // Assert
+        assertEquals(INSERTS, savedBooks.size());
+        for (String isbn : isbns) {
+            BookDTO result = results.get(isbn).get();
+            assertEquals(isbn, result.getIsbn());
+            assertEquals("Title " + isbn, result.getTitle(), "Returned book has another request's data");
+            assertEquals("Title " + isbn, savedBooks.get(isbn).getTitle(), "Saved book has another request's data");
+            assertEquals("Description of " + isbn, savedBooks.get(isbn).getDescription());
+        }
+    }
+
+    @Test
+    void insertBookFromIsbn_ConcurrentInsertsOfSameIsbnShareOneLookupAndSave() throws Exception {
+        // Arrange
+        String isbn = isbn13(1);
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger saves = new AtomicInteger();
+        CountDownLatch allStarted = new CountDownLatch(THREADS);
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenAnswer(invocation -> {
+            lookups.incrementAndGet();
+            // Keep the lookup in flight until every request has been sent
+            allStarted.await(5, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            return googleResponseFor(isbn);
+        });
+        when(libreTranslateClient.detect(anyString())).thenReturn("en");
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> {
+            saves.incrementAndGet();
+            return invocation.getArgument(0);
+        });
+
+        // Act
+        List<Future<BookDTO>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    allStarted.countDown();
+                    return bookService.insertBookFromIsbn(isbn);
+                }));
+            }
+        }
+
+        // Assert
+        int inserted = 0;
+        int exists = 0;
+        for (Future<BookDTO> result : results) {
+            try {
+                assertEquals(isbn, result.get().getIsbn());
+                inserted++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BookExistsException.class, e.getCause());
+                exists++;
+            }
+        }
+        assertEquals(1, inserted);
+        assertEquals(THREADS - 1, exists);
+        assertEquals(1, lookups.get());
+        assertEquals(1, saves.get());
+    }
+
+    private static GoogleBookResponse googleResponseFor(String isbn) {
+        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo(
+                "Title " + isbn, List.of("Author " + isbn), "Publisher", "2001", null, List.of("Fiction"),
+                "Description of " + isbn, "en", 100, List.of(new GoogleBookResponse.IndustryIdentifier("ISBN_13", isbn)));
+        return new GoogleBookResponse(1, List.of(new GoogleBookResponse.Item(volumeInfo)));
+    }
+
+    // Builds a valid ISBN-13 from a sequence number
+    private static String isbn13(int sequence) {
+        String prefix = String.format("978%09d", sequence);
+        return prefix + IsbnUtils.calculateIsbn13CheckDigit(prefix + "0");
+    }
+}
@@ -3,20 +3,44 @@ package com.github.leo791.personal_library.service;
 import com.github.leo791.personal_library.client.GoogleBooksClient;
 import com.github.leo791.personal_library.client.LibreTranslateClient;
 import com.github.leo791.personal_library.client.OpenLibraryClient;
+import com.github.leo791.personal_library.client.OpenLibraryDumpClient;
+import com.github.leo791.personal_library.config.CacheConfig;
+import com.github.leo791.personal_library.config.ResilienceConfig;
+import com.github.leo791.personal_library.exception.BookExistsException;
+import com.github.leo791.personal_library.exception.ExternalBookNotFoundException;
+import com.github.leo791.personal_library.exception.GoogleBooksQuotaException;
 import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BookPage;
+import com.github.leo791.personal_library.model.dto.TranslationResult;
 import com.github.leo791.personal_library.model.entity.Book;
 import com.github.leo791.personal_library.model.entity.GoogleBookResponse;
 import com.github.leo791.personal_library.model.entity.OpenLibraryBookResponse;
 import com.github.leo791.personal_library.repository.BookRepository;
+import com.github.leo791.personal_library.repository.OpenLibraryAuthorRepository;
+import com.github.leo791.personal_library.repository.TranslationRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -76,25 +100,64 @@ class BookServiceTest {
     @Mock
     private OpenLibraryClient openLibraryClient;
 
-    @InjectMocks
+    // Unstubbed, it has no local index, so books come from openLibraryClient
+    @Mock
+    private OpenLibraryDumpClient openLibraryDumpClient;
+
+    @Mock
+    private UnknownIsbnCache unknownIsbnCache;
+
+    @Mock
+    private OpenLibraryAuthorRepository authorRepository;
+
+    @Mock
+    private TranslationRepository translationRepository;
+
+    @Mock
+    private BatchingTranslator batchingTranslator;
+
+    // Unstubbed, it is never confident, so descriptions are detected by libreTranslateClient
+    @Mock
+    private LanguageDetector languageDetector;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    private static final int PAGE_SIZE = 3;
+    private static final int MAX_PAGE_SIZE = 5;
+
     private BookService bookService;
 
+    @BeforeEach
+    void setUp() {
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.SEQUENTIAL, Duration.ZERO);
+    }
+
+    private BookService bookServiceWithLookupMode(BookService.LookupMode lookupMode, Duration hedgeDelay) {
+        return bookService(lookupMode, hedgeDelay, false);
+    }
+
+    private BookService bookService(BookService.LookupMode lookupMode, Duration hedgeDelay,
+                                    boolean autoDetectTranslation) {
+        // Author names and translations go through real caches, which are empty, so they still come from the clients
+        AuthorNameCache authorNameCache = new AuthorNameCache(openLibraryClient, authorRepository,
+                new ConcurrentMapCacheManager(CacheConfig.OPEN_LIBRARY_AUTHORS_CACHE), false);
+        TranslationCache translationCache = new TranslationCache(libreTranslateClient, batchingTranslator, translationRepository);
+        return new BookService(bookRepository, bookMapper, googleBooksClient, libreTranslateClient,
+                openLibraryClient, openLibraryDumpClient, unknownIsbnCache, authorNameCache, translationCache, languageDetector,
+                bookSearchIndex, autoDetectTranslation, lookupMode, hedgeDelay, PAGE_SIZE, MAX_PAGE_SIZE);
+    }
+
     private void setUpGoogleBooksResponse() {
         // Arrange a googleBooksClient response
         GoogleBookResponse.IndustryIdentifier isbn10 = new GoogleBookResponse.IndustryIdentifier("ISBN_10", isbn);
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setTitle("Frankenstein");
-        volumeInfo.setAuthors(List.of("Mary Shelley"));
-        volumeInfo.setCategories(List.of("Horror"));
-        volumeInfo.setIndustryIdentifiers(List.of(isbn10));
+        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo(
+                "Frankenstein", List.of("Mary Shelley"), null, null, null, List.of("Horror"),
+                null, null, null, List.of(isbn10));
 
-        GoogleBookResponse.Item item = new GoogleBookResponse.Item();
-        item.setVolumeInfo(volumeInfo);
+        GoogleBookResponse.Item item = new GoogleBookResponse.Item(volumeInfo);
 
-
-        this.mockGoogleResponse = new GoogleBookResponse();
-        this.mockGoogleResponse.setTotalItems(1);
-        this.mockGoogleResponse.setItems(List.of(item));
+        this.mockGoogleResponse = new GoogleBookResponse(1, List.of(item));
     }
     
     private void setUpOpenLibraryResponse() {
@@ -123,7 +186,7 @@ class BookServiceTest {
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
 
         // Simulate the GoogleBooksClient returning a book response
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(mockGoogleResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
         when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
                 .thenReturn(Frankenstein);
         when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
@@ -148,8 +211,7 @@ class BookServiceTest {
     void insertBookFromIsbn_BookExistsInOpenApi() throws Exception {
         // Arrange
         String isbn = "9780441172719";
-        GoogleBookResponse googleBookResponse = new GoogleBookResponse();
-        googleBookResponse.setTotalItems(0);
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
         setUpOpenLibraryResponse();
 
         // Open Library response lacks description and genre, test handling of null
@@ -157,7 +219,7 @@ class BookServiceTest {
         Frankenstein.setGenre(null);
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(googleBookResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
         when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
         when(openLibraryClient.fetchAuthorByKey("/author/OL12345A"))
                 .thenReturn("Mary Shelley");
@@ -183,8 +245,7 @@ class BookServiceTest {
     void insertBookFromIsbn_BookExistsInOpenApi_WithoutAuthor() throws Exception {
         // Arrange
         String isbn = "9780441172719";
-        GoogleBookResponse googleBookResponse = new GoogleBookResponse();
-        googleBookResponse.setTotalItems(0);
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
         setUpOpenLibraryResponse();
         mockOpenLibraryResponse.setAuthors(List.of());
 
@@ -195,7 +256,7 @@ class BookServiceTest {
 
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(googleBookResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
         when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
 
         when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "", isbn))
@@ -220,12 +281,11 @@ class BookServiceTest {
    void insertBookFromIsbn_GoogleAndOpenApisFail() {
        // Arrange
        String isbn = "9780441172719";
-       GoogleBookResponse googleBookResponse = new GoogleBookResponse();
-       googleBookResponse.setTotalItems(0);
+       GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
 
        // Mock
        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-       when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(googleBookResponse);
+       when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Open Library API error"));
 
        // Assert
@@ -245,7 +305,7 @@ class BookServiceTest {
 
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(mockGoogleResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
         when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
                 .thenReturn(Frankenstein);
         when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
@@ -259,6 +319,387 @@ class BookServiceTest {
         assertEquals(isbn.replace("-", ""), result.getIsbn());
     }
 
+    // ================ Insert Book From ISBN - Lookup Modes =================
+
+    @Test
+    void insertBookFromIsbn_ParallelLookup_QueriesBothApisAtOnce() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.PARALLEL, Duration.ZERO);
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+        setUpOpenLibraryResponse();
+        CountDownLatch openLibraryStarted = new CountDownLatch(1);
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        // Google Books only answers once the Open Library lookup has started
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenAnswer(invocation -> {
+            assertTrue(openLibraryStarted.await(5, TimeUnit.SECONDS), "Open Library should be queried in parallel");
+            return googleBookResponse;
+        });
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenAnswer(invocation -> {
+            openLibraryStarted.countDown();
+            return mockOpenLibraryResponse;
+        });
+        when(openLibraryClient.fetchAuthorByKey("/author/OL12345A")).thenReturn("Mary Shelley");
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BookDTO result = bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(openLibraryClient).fetchBookByIsbn(isbn);
+        verify(bookRepository).save(Frankenstein);
+    }
+
+    @Test
+    void insertBookFromIsbn_HedgedLookup_GoogleAnswersWithinDelay_SkipsOpenLibrary() throws Exception {
+        // Arrange
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.HEDGED, Duration.ofSeconds(10));
+        setUpGoogleBooksResponse();
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
+        when(bookMapper.fromGoogleResponseToBook(mockGoogleResponse, isbn)).thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+        when(libreTranslateClient.detect(Frankenstein.getDescription())).thenReturn("en");
+
+        // Act
+        BookDTO result = bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verifyNoInteractions(openLibraryClient);
+    }
+
+    @Test
+    void insertBookFromIsbn_HedgedLookup_GoogleMiss_UsesOpenLibraryResult() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.HEDGED, Duration.ofMillis(1));
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+        setUpOpenLibraryResponse();
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
+        when(openLibraryClient.fetchAuthorByKey("/author/OL12345A")).thenReturn("Mary Shelley");
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BookDTO result = bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(openLibraryClient, times(1)).fetchBookByIsbn(isbn);
+    }
+
+    @Test
+    void insertBookFromIsbn_HedgedLookup_GoogleMiss_DoesNotWaitForHedgeDelay() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.HEDGED, Duration.ofMinutes(1));
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+        setUpOpenLibraryResponse();
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
+        when(openLibraryClient.fetchAuthorByKey("/author/OL12345A")).thenReturn("Mary Shelley");
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        // Open Library is queried as soon as Google Books has no results, not once the hedge delay elapses
+        BookDTO result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> bookService.insertBookFromIsbn(isbn));
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(openLibraryClient, times(1)).fetchBookByIsbn(isbn);
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void insertBookFromIsbn_ParallelLookup_GoogleFinds_DiscardedOpenLibraryMissIsNotAnError(CapturedOutput output)
+            throws Exception {
+        // Arrange
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.PARALLEL, Duration.ZERO);
+        setUpGoogleBooksResponse();
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Error fetching book",
+                new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+        when(bookMapper.fromGoogleResponseToBook(mockGoogleResponse, isbn)).thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+        when(libreTranslateClient.detect(Frankenstein.getDescription())).thenReturn("en");
+
+        // Act
+        BookDTO result = bookService.insertBookFromIsbn(isbn);
+        // Waits for the Open Library lookup to finish
+        bookService.shutdown();
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(openLibraryClient).fetchBookByIsbn(isbn);
+        assertTrue(output.getAll().lines().noneMatch(line -> line.contains("ERROR") && line.contains("Open Library")));
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void insertBookFromIsbn_HedgedLookup_GoogleMiss_OpenLibraryMissIsLoggedOnce(CapturedOutput output) {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.HEDGED, Duration.ofMinutes(1));
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Error fetching book",
+                new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+
+        // Act & Assert
+        assertThrows(ExternalBookNotFoundException.class, () -> bookService.insertBookFromIsbn(isbn));
+        assertEquals(1, output.getAll().lines()
+                .filter(line -> line.contains("ERROR") && line.contains("from Open Library API"))
+                .count());
+    }
+
+    @Test
+    void insertBookFromIsbn_ParallelLookup_GoogleAndOpenApisFail() {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookServiceWithLookupMode(BookService.LookupMode.PARALLEL, Duration.ZERO);
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Open Library API error"));
+
+        // Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bookService.insertBookFromIsbn(isbn));
+        assertEquals("Book with ISBN 9780441172719 not found in external APIs", exception.getMessage());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    // ================ Insert Book From ISBN - Negative Cache =================
+    @Test
+    void insertBookFromIsbn_UnknownIsbnIsCached_SkipsExternalApis() {
+        // Arrange
+        String isbn = "9780441172719";
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(unknownIsbnCache.isUnknown(isbn)).thenReturn(true);
+
+        // Assert
+        ExternalBookNotFoundException exception = assertThrows(ExternalBookNotFoundException.class,
+                () -> bookService.insertBookFromIsbn(isbn));
+        assertTrue(exception.isCached());
+        verifyNoInteractions(googleBooksClient, openLibraryClient);
+    }
+
+    @Test
+    void insertBookFromIsbn_GoogleAndOpenApisDoNotKnowBook_MarksIsbnUnknown() {
+        // Arrange
+        String isbn = "9780441172719";
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Error fetching book",
+                new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+
+        // Assert
+        ExternalBookNotFoundException exception = assertThrows(ExternalBookNotFoundException.class,
+                () -> bookService.insertBookFromIsbn(isbn));
+        assertFalse(exception.isCached());
+        verify(unknownIsbnCache).markUnknown(isbn);
+    }
+
+    @Test
+    void insertBookFromIsbn_GoogleCircuitOpenAndOpenLibraryDoesNotKnowBook_DoesNotMarkIsbnUnknown() {
+        // Arrange
+        String isbn = "9780441172719";
+        CallNotPermittedException circuitOpen = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults(ResilienceConfig.GOOGLE_BOOKS));
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenThrow(circuitOpen);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Error fetching book",
+                new HttpClientErrorException(HttpStatus.NOT_FOUND)));
+
+        // Assert
+        // Google Books never answered for the ISBN, so it may still have the book once it is available again
+        assertThrows(ExternalBookNotFoundException.class, () -> bookService.insertBookFromIsbn(isbn));
+        verify(unknownIsbnCache, never()).markUnknown(isbn);
+    }
+
+    @Test
+    void insertBookFromIsbn_OpenApiError_DoesNotMarkIsbnUnknown() {
+        // Arrange
+        String isbn = "9780441172719";
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(new RuntimeException("Open Library API error"));
+
+        // Assert
+        assertThrows(ExternalBookNotFoundException.class, () -> bookService.insertBookFromIsbn(isbn));
+        verify(unknownIsbnCache, never()).markUnknown(isbn);
+    }
+
+    @Test
+    void insertBookFromIsbn_GoogleCircuitOpen_UsesOpenLibrary() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        setUpOpenLibraryResponse();
+        Frankenstein.setDescription(null);
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenThrow(CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults(ResilienceConfig.GOOGLE_BOOKS)));
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
+        when(openLibraryClient.fetchAuthorByKey("/author/OL12345A")).thenReturn("Mary Shelley");
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BookDTO result = bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(bookRepository).save(Frankenstein);
+    }
+
+    @Test
+    void importBookFromExternalApis_BulkImportOutOfGoogleQuota_UsesOpenLibrary() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        setUpOpenLibraryResponse();
+        Frankenstein.setDescription(null);
+
+        // Mock
+        when(googleBooksClient.fetchBookByIsbn(isbn, true))
+                .thenThrow(new GoogleBooksQuotaException("Google Books daily quota is reserved for single inserts"));
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
+        when(openLibraryClient.fetchAuthorByKey("/author/OL12345A")).thenReturn("Mary Shelley");
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BookDTO result = bookService.importBookFromExternalApis(isbn, true);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(bookRepository).save(Frankenstein);
+    }
+
+    @Test
+    void prefetchFromExternalApis_SkipsUnknownIsbnsAndIgnoresFailures() {
+        // Arrange
+        String unknownIsbn = "9780141439518";
+
+        // Mock
+        when(unknownIsbnCache.isUnknown(isbn)).thenReturn(false);
+        when(unknownIsbnCache.isUnknown(unknownIsbn)).thenReturn(true);
+        when(googleBooksClient.fetchBooksByIsbns(List.of(isbn), true))
+                .thenThrow(new GoogleBooksQuotaException("Google Books daily quota is reserved for single inserts"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> bookService.prefetchFromExternalApis(List.of(isbn, unknownIsbn)));
+        verify(googleBooksClient).fetchBooksByIsbns(List.of(isbn), true);
+        // Google Books failed, so the whole batch is looked up on Open Library
+        verify(openLibraryClient).fetchBooksByIsbns(List.of(isbn));
+    }
+
+    @Test
+    void prefetchFromExternalApis_GoogleMissesUseOpenLibraryAuthorNamesWithoutAuthorLookups() throws Exception {
+        // Arrange
+        String duneIsbn = "9780441172719";
+        setUpOpenLibraryResponse();
+        mockOpenLibraryResponse.getAuthors().getFirst().setName("Mary Shelley");
+        Frankenstein.setDescription(null);
+
+        // Mock
+        when(googleBooksClient.fetchBooksByIsbns(List.of(duneIsbn, isbn), true))
+                .thenReturn(Map.of(duneIsbn, new GoogleBookResponse(1, List.of(new GoogleBookResponse.Item(null)))));
+        when(openLibraryClient.fetchBooksByIsbns(List.of(isbn))).thenReturn(Map.of(isbn, mockOpenLibraryResponse));
+        when(googleBooksClient.fetchBookByIsbn(isbn, true)).thenReturn(new GoogleBookResponse(0, List.of()));
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        bookService.prefetchFromExternalApis(List.of(duneIsbn, isbn));
+        BookDTO result = bookService.importBookFromExternalApis(isbn, true);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verify(openLibraryClient, never()).fetchAuthorByKey(anyString());
+    }
+
+    @Test
+    void importBookFromExternalApis_BookInLocalOpenLibraryIndex_DoesNotCallOpenLibraryApi() throws Exception {
+        // Arrange
+        setUpOpenLibraryResponse();
+        mockOpenLibraryResponse.getAuthors().getFirst().setName("Mary Shelley");
+        Frankenstein.setDescription(null);
+
+        // Mock
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(new GoogleBookResponse(0, List.of()));
+        when(openLibraryDumpClient.fetchBookByIsbn(isbn)).thenReturn(mockOpenLibraryResponse);
+        when(bookMapper.fromOpenLibraryResponseToBook(mockOpenLibraryResponse, "Mary Shelley", isbn))
+                .thenReturn(Frankenstein);
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BookDTO result = bookService.importBookFromExternalApis(isbn);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verifyNoInteractions(openLibraryClient);
+    }
+
+    @Test
+    void insertBookFromIsbn_OpenLibraryCircuitOpen_ThrowsWithoutMarkingIsbnUnknown() {
+        // Arrange
+        String isbn = "9780441172719";
+        GoogleBookResponse googleBookResponse = new GoogleBookResponse(0, List.of());
+        CallNotPermittedException circuitOpen = CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults(ResilienceConfig.OPEN_LIBRARY));
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(googleBookResponse);
+        when(openLibraryClient.fetchBookByIsbn(isbn)).thenThrow(circuitOpen);
+
+        // Assert
+        assertSame(circuitOpen, assertThrows(CallNotPermittedException.class,
+                () -> bookService.insertBookFromIsbn(isbn)));
+        verify(unknownIsbnCache, never()).markUnknown(isbn);
+    }
+
     // ================ Insert Book From ISBN - Error Scenarios =================
     @Test
     void insertBookFromIsbn_ExistingBook() {
@@ -291,7 +732,7 @@ class BookServiceTest {
         setUpGoogleBooksResponse();
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(mockGoogleResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
         when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
                 .thenReturn(Frankenstein);
         when(libreTranslateClient.detect(Frankenstein.getDescription()))
@@ -306,6 +747,27 @@ class BookServiceTest {
         assertEquals("Database error", exception.getMessage());
     }
 
+    @Test
+    void insertBookFromIsbn_UniqueConstraintViolation_ThrowsBookExists() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        setUpGoogleBooksResponse();
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
+        when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
+                .thenReturn(Frankenstein);
+        when(libreTranslateClient.detect(Frankenstein.getDescription()))
+                .thenReturn("en");
+
+        // Simulate the book being inserted by another instance after the check
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .when(bookRepository).save(any(Book.class));
+
+        // Assert
+        assertThrows(BookExistsException.class, () -> bookService.insertBookFromIsbn(isbn));
+    }
+
     // ================ Insert Book From ISBN - Translation Tests =================
 
     @Test
@@ -319,7 +781,7 @@ class BookServiceTest {
 
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(mockGoogleResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
         when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
                 .thenReturn(Frankenstein);
         when(libreTranslateClient.detect(Frankenstein.getDescription()))
@@ -334,6 +796,79 @@ class BookServiceTest {
         assertEquals("Una novela sobre un científico que crea una criatura en un experimento poco ortodoxo.", result.getDescription());
     }
 
+    @Test
+    void insertBookFromIsbn_LanguageDetectedLocally_SkipsRemoteDetection() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        setUpGoogleBooksResponse();
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
+        when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
+                .thenReturn(Frankenstein);
+        when(languageDetector.detect(Frankenstein.getDescription())).thenReturn(Optional.of("en"));
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BookDTO result = bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        assertEquals(FrankensteinDTO, result);
+        verifyNoInteractions(libreTranslateClient);
+    }
+
+    @Test
+    void insertBookFromIsbn_AutoDetectTranslation_DetectsAndTranslatesInOneRequest() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookService(BookService.LookupMode.SEQUENTIAL, Duration.ZERO, true);
+        setUpGoogleBooksResponse();
+        Frankenstein.setLanguage("es");
+        String translatedDescription = "Una novela sobre un científico que crea una criatura en un experimento poco ortodoxo.";
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
+        when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
+                .thenReturn(Frankenstein);
+        when(libreTranslateClient.translateAuto(Frankenstein.getDescription(), "ES"))
+                .thenReturn(new TranslationResult("en", translatedDescription));
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        ArgumentCaptor<Book> bookCaptor = ArgumentCaptor.forClass(Book.class);
+        verify(bookRepository).save(bookCaptor.capture());
+        assertEquals(translatedDescription, bookCaptor.getValue().getDescription());
+        verify(libreTranslateClient, never()).detect(anyString());
+    }
+
+    @Test
+    void insertBookFromIsbn_AutoDetectTranslation_LanguageDetectedLocally_UsesTwoStepFlow() throws Exception {
+        // Arrange
+        String isbn = "9780441172719";
+        bookService = bookService(BookService.LookupMode.SEQUENTIAL, Duration.ZERO, true);
+        setUpGoogleBooksResponse();
+        Frankenstein.setLanguage("en");
+
+        // Mock
+        when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
+        when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
+                .thenReturn(Frankenstein);
+        when(languageDetector.detect(Frankenstein.getDescription())).thenReturn(Optional.of("en"));
+        when(bookMapper.bookToDto(any(Book.class))).thenReturn(FrankensteinDTO);
+
+        // Act
+        bookService.insertBookFromIsbn(isbn);
+
+        // Assert
+        verifyNoInteractions(libreTranslateClient);
+    }
+
     @Test
     void insertBookFromIsbn_DetectionFails() throws Exception {
         // Arrange
@@ -344,7 +879,7 @@ class BookServiceTest {
 
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(mockGoogleResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
         when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
                 .thenReturn(Frankenstein);
         // Simulate detection failure
@@ -370,7 +905,7 @@ class BookServiceTest {
 
         // Mock
         when(bookRepository.existsByIsbn(isbn)).thenReturn(false);
-        when(googleBooksClient.fetchBookByIsbn(isbn)).thenReturn(mockGoogleResponse);
+        when(googleBooksClient.fetchBookByIsbn(isbn, false)).thenReturn(mockGoogleResponse);
         when(bookMapper.fromGoogleResponseToBook(any(GoogleBookResponse.class), eq(isbn)))
                 .thenReturn(Frankenstein);
         when(libreTranslateClient.detect(Frankenstein.getDescription()))
@@ -405,6 +940,7 @@ class BookServiceTest {
         verify(bookRepository).existsByIsbn(Frankenstein.getIsbn());
         verify(bookMapper).DTOtoBook(FrankensteinDTO);
         verify(bookMapper).bookToDto(Frankenstein);
+        verify(bookSearchIndex).put(Frankenstein);
 
         ArgumentCaptor<Book> captor = ArgumentCaptor.forClass(Book.class);
         verify(bookRepository).save(captor.capture());
@@ -605,17 +1141,17 @@ class BookServiceTest {
         List<Book> books = List.of(Frankenstein, ToKillAMockingbird);
 
         // Mock
-        when(bookRepository.findAll()).thenReturn(books);
+        when(bookRepository.findByIdGreaterThanOrderById(0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(
                 FrankensteinDTO, ToKillAMockingbirdDTO
 
         ));
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, null, null);
+        List<BookDTO> result = bookService.searchBooks(null, null, null, null, null, null).getBooks();
 
         // Assert
         assertEquals(2, result.size());
-        verify(bookRepository).findAll();
+        verify(bookRepository).findByIdGreaterThanOrderById(0L, Limit.of(PAGE_SIZE + 1));
     }
 
     // ================ Search Books ==================
@@ -626,16 +1162,16 @@ class BookServiceTest {
         List<Book> books = List.of(ToKillAMockingbird);
 
         // Mock
-        when(bookRepository.findByTitleContainingIgnoreCase(title)).thenReturn(books);
+        when(bookRepository.findByTitleContainingIgnoreCase(title, 0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(ToKillAMockingbirdDTO));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(title, null, null);
+        List<BookDTO> result = bookService.searchBooks(null, title, null, null, null, null).getBooks();
 
         // Assert
         assertEquals(1, result.size());
         assertEquals(title, result.getFirst().getTitle());
-        verify(bookRepository).findByTitleContainingIgnoreCase(title);
+        verify(bookRepository).findByTitleContainingIgnoreCase(title, 0L, Limit.of(PAGE_SIZE + 1));
     }
 
     @Test
@@ -645,16 +1181,16 @@ class BookServiceTest {
         List<Book> books = List.of(ToKillAMockingbird);
 
         // Mock
-        when(bookRepository.findByTitleContainingIgnoreCase(title)).thenReturn(books);
+        when(bookRepository.findByTitleContainingIgnoreCase(title, 0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(ToKillAMockingbirdDTO));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(title, null, null);
+        List<BookDTO> result = bookService.searchBooks(null, title, null, null, null, null).getBooks();
 
         // Assert
         assertEquals(1, result.size());
         assertEquals("To Kill a Mockingbird", result.getFirst().getTitle());
-        verify(bookRepository).findByTitleContainingIgnoreCase(title);
+        verify(bookRepository).findByTitleContainingIgnoreCase(title, 0L, Limit.of(PAGE_SIZE + 1));
     }
 
     @Test
@@ -664,16 +1200,16 @@ class BookServiceTest {
         List<Book> books = List.of(ToKillAMockingbird);
 
         // Mock
-        when(bookRepository.findByAuthorContainingIgnoreCase(author)).thenReturn(books);
+        when(bookRepository.findByAuthorContainingIgnoreCase(author, 0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(ToKillAMockingbirdDTO));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, author, null);
+        List<BookDTO> result = bookService.searchBooks(null, null, author, null, null, null).getBooks();
 
         // Assert
         assertEquals(1, result.size());
         assertEquals(author, result.getFirst().getAuthor());
-        verify(bookRepository).findByAuthorContainingIgnoreCase(author);
+        verify(bookRepository).findByAuthorContainingIgnoreCase(author, 0L, Limit.of(PAGE_SIZE + 1));
     }
 
     @Test
@@ -683,16 +1219,16 @@ class BookServiceTest {
         List<Book> books = List.of(AnimalFarm);
 
         // Mock
-        when(bookRepository.findByAuthorContainingIgnoreCase(author)).thenReturn(books);
+        when(bookRepository.findByAuthorContainingIgnoreCase(author, 0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(AnimalFarmDTO));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, author, null);
+        List<BookDTO> result = bookService.searchBooks(null, null, author, null, null, null).getBooks();
 
         // Assert
         assertEquals(1, result.size());
         assertEquals("George Orwell", result.getFirst().getAuthor());
-        verify(bookRepository).findByAuthorContainingIgnoreCase(author);
+        verify(bookRepository).findByAuthorContainingIgnoreCase(author, 0L, Limit.of(PAGE_SIZE + 1));
     }
 
     @Test
@@ -702,18 +1238,18 @@ class BookServiceTest {
         List<Book> books = List.of(Frankenstein, ToKillAMockingbird, AnimalFarm);
 
         // Mock
-        when(bookRepository.findByGenreContainingIgnoreCase(genre)).thenReturn(books);
+        when(bookRepository.findByGenreContainingIgnoreCase(genre, 0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(ToKillAMockingbirdDTO, AnimalFarmDTO
         ));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, null, genre);
+        List<BookDTO> result = bookService.searchBooks(null, null, null, genre, null, null).getBooks();
 
         // Assert
         assertEquals(2, result.size());
         assertEquals(genre, result.getFirst().getGenre());
         assertEquals(genre, result.get(1).getGenre());
-        verify(bookRepository).findByGenreContainingIgnoreCase(genre);
+        verify(bookRepository).findByGenreContainingIgnoreCase(genre, 0L, Limit.of(PAGE_SIZE + 1));
     }
 
     @Test
@@ -723,18 +1259,143 @@ class BookServiceTest {
         List<Book> books = List.of(Frankenstein, ToKillAMockingbird, AnimalFarm);
 
         // Mock
-        when(bookRepository.findByGenreContainingIgnoreCase(genre)).thenReturn(books);
+        when(bookRepository.findByGenreContainingIgnoreCase(genre, 0L, Limit.of(PAGE_SIZE + 1))).thenReturn(books);
         when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(ToKillAMockingbirdDTO, AnimalFarmDTO
         ));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, null, genre);
+        List<BookDTO> result = bookService.searchBooks(null, null, null, genre, null, null).getBooks();
 
         // Assert
         assertEquals(2, result.size());
         assertEquals("Fiction", result.getFirst().getGenre());
         assertEquals("Fiction", result.get(1).getGenre());
-        verify(bookRepository).findByGenreContainingIgnoreCase(genre);
+        verify(bookRepository).findByGenreContainingIgnoreCase(genre, 0L, Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testSearchBooks_FullText() {
+        // Arrange
+        String query = "  mockingbird lee ";
+        List<Book> books = List.of(ToKillAMockingbird);
+
+        // Mock
+        when(bookRepository.searchFullText("mockingbird lee", Float.POSITIVE_INFINITY, 0L, PAGE_SIZE + 1))
+                .thenReturn(List.of(new BookRepository.RankedBook(ToKillAMockingbird, 0.9f)));
+        when(bookMapper.bookListToDtoList(books)).thenReturn(List.of(ToKillAMockingbirdDTO));
+
+        // Act
+        List<BookDTO> result = bookService.searchBooks(query, "Frankenstein", null, null, null, null).getBooks();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(ToKillAMockingbirdDTO.getTitle(), result.getFirst().getTitle());
+        verify(bookRepository).searchFullText("mockingbird lee", Float.POSITIVE_INFINITY, 0L, PAGE_SIZE + 1);
+        verify(bookRepository, never()).findByTitleContainingIgnoreCase(any(), anyLong(), any());
+    }
+
+    @Test
+    void testSearchBooks_FullText_BlankQuery() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks(" ", null, null, null, null, null));
+        verify(bookRepository, never()).searchFullText(any(), anyFloat(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testSearchBooks_FromSearchIndex_WhenReady() {
+        // Arrange
+        BookPage byAuthor = new BookPage(List.of(ToKillAMockingbirdDTO), null);
+        BookPage all = new BookPage(List.of(ToKillAMockingbirdDTO, AnimalFarmDTO), "Mw");
+
+        // Mock
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.search(BookSearchIndex.Field.AUTHOR, "lee", 0L, PAGE_SIZE)).thenReturn(byAuthor);
+        when(bookSearchIndex.findAll(2L, PAGE_SIZE)).thenReturn(all);
+
+        // Act & Assert
+        assertSame(byAuthor, bookService.searchBooks(null, null, "lee", null, null, null));
+        assertSame(all, bookService.searchBooks(null, null, null, null, null, "Mg"));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void testSearchBooks_NextPage() {
+        // Arrange
+        Frankenstein.setId(4L);
+        ToKillAMockingbird.setId(7L);
+        AnimalFarm.setId(9L);
+        List<Book> books = List.of(Frankenstein, ToKillAMockingbird, AnimalFarm);
+
+        // Mock
+        when(bookRepository.findByGenreContainingIgnoreCase("Fiction", 0L, Limit.of(3))).thenReturn(books);
+        when(bookMapper.bookListToDtoList(List.of(Frankenstein, ToKillAMockingbird)))
+                .thenReturn(List.of(FrankensteinDTO, ToKillAMockingbirdDTO));
+        when(bookRepository.findByGenreContainingIgnoreCase("Fiction", 7L, Limit.of(3)))
+                .thenReturn(List.of(AnimalFarm));
+        when(bookMapper.bookListToDtoList(List.of(AnimalFarm))).thenReturn(List.of(AnimalFarmDTO));
+
+        // Act
+        BookPage firstPage = bookService.searchBooks(null, null, null, "Fiction", 2, null);
+        BookPage secondPage = bookService.searchBooks(null, null, null, "Fiction", 2, firstPage.getNextCursor());
+
+        // Assert
+        assertEquals(List.of(FrankensteinDTO, ToKillAMockingbirdDTO), firstPage.getBooks());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(List.of(AnimalFarmDTO), secondPage.getBooks());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testSearchBooks_FullText_NextPage() {
+        // Arrange
+        Frankenstein.setId(4L);
+        ToKillAMockingbird.setId(7L);
+        AnimalFarm.setId(9L);
+
+        // Mock
+        when(bookRepository.searchFullText("animal", Float.POSITIVE_INFINITY, 0L, 2))
+                .thenReturn(List.of(new BookRepository.RankedBook(AnimalFarm, 0.6f),
+                        new BookRepository.RankedBook(Frankenstein, 0.2f)));
+        when(bookMapper.bookListToDtoList(List.of(AnimalFarm))).thenReturn(List.of(AnimalFarmDTO));
+        when(bookRepository.searchFullText("animal", 0.6f, 9L, 2))
+                .thenReturn(List.of(new BookRepository.RankedBook(Frankenstein, 0.2f)));
+        when(bookMapper.bookListToDtoList(List.of(Frankenstein))).thenReturn(List.of(FrankensteinDTO));
+
+        // Act
+        BookPage firstPage = bookService.searchBooks("animal", null, null, null, 1, null);
+        BookPage secondPage = bookService.searchBooks("animal", null, null, null, 1, firstPage.getNextCursor());
+
+        // Assert
+        assertEquals(List.of(AnimalFarmDTO), firstPage.getBooks());
+        assertEquals(List.of(FrankensteinDTO), secondPage.getBooks());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void testSearchBooks_LimitAboveMaximum_UsesMaximumPageSize() {
+        // Mock
+        when(bookRepository.findByIdGreaterThanOrderById(0L, Limit.of(MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        // Act
+        BookPage page = bookService.searchBooks(null, null, null, null, 10_000, null);
+
+        // Assert
+        assertNull(page.getNextCursor());
+        verify(bookRepository).findByIdGreaterThanOrderById(0L, Limit.of(MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testSearchBooks_InvalidLimitOrCursor() {
+        // Arrange
+        String fullTextCursor = new BookCursor(0.5f, 3).encode();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks(null, null, null, null, 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.searchBooks(null, "Farm", null, null, null, "not a cursor"));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.searchBooks(null, "Farm", null, null, null, fullTextCursor));
+        verifyNoInteractions(bookRepository);
     }
 
     // ================ Delete Book ==================
@@ -750,6 +1411,7 @@ class BookServiceTest {
         // Assert
         verify(bookRepository).findByIsbn(isbn);
         verify(bookRepository).deleteByIsbn(isbn);
+        verify(bookSearchIndex).remove(Frankenstein);
     }
 
     @Test
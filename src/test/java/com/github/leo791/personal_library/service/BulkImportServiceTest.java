@@ -0,0 +1,206 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.exception.ExternalBookNotFoundException;
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.BulkImportResponse;
+import com.github.leo791.personal_library.model.dto.BulkImportResult;
+import com.github.leo791.personal_library.model.dto.BulkImportResult.Status;
+import com.github.leo791.personal_library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the BulkImportService class. */
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    // Valid ISBNs for testing purposes.
+    String frankensteinIsbn = "9780553212471";
+    String duneIsbn = "9780441172719";
+    String duneIsbn10 = "0-441-17271-7";
+    String gatsbyIsbn = "9780593311844";
+    // This is an invalid ISBN for testing purposes.
+    String invalidIsbn = "9783161484101";
+
+    BookDTO FrankensteinDTO = new BookDTO(frankensteinIsbn, "Frankenstein", "Mary Shelley", "Horror",
+            "A novel about a scientist who creates a creature in an unorthodox experiment.",
+            "EN", 280, "Lackington, Hughes, Harding, Mavor & Jones", "1818");
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        bulkImportService = new BulkImportService(bookService, bookRepository, 5, 5, 2);
+    }
+
+    @Test
+    void importBooks_ReportsOutcomePerIsbn() throws Exception {
+        // Mock
+        when(bookRepository.findExistingIsbns(List.of(frankensteinIsbn, duneIsbn, "0441172717", gatsbyIsbn)))
+                .thenReturn(Set.of(duneIsbn));
+        when(bookService.importBookFromExternalApis(frankensteinIsbn, true)).thenReturn(FrankensteinDTO);
+        when(bookService.importBookFromExternalApis("0441172717", true))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(bookService.importBookFromExternalApis(gatsbyIsbn, true))
+                .thenThrow(new ExternalBookNotFoundException(gatsbyIsbn));
+
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(
+                List.of(frankensteinIsbn, invalidIsbn, duneIsbn, duneIsbn10, gatsbyIsbn));
+
+        // Assert
+        List<BulkImportResult> results = response.getResults();
+        assertEquals(5, results.size());
+        assertEquals(Status.CREATED, results.get(0).getStatus());
+        assertEquals(FrankensteinDTO, results.get(0).getBook());
+        assertEquals(Status.INVALID, results.get(1).getStatus());
+        assertEquals(invalidIsbn, results.get(1).getIsbn());
+        assertEquals(Status.EXISTS, results.get(2).getStatus());
+        assertEquals(Status.EXISTS, results.get(3).getStatus());
+        // Every result reports the ISBN as it was requested, not the normalized one
+        assertEquals(duneIsbn10, results.get(3).getIsbn());
+        assertEquals(Status.NOT_FOUND, results.get(4).getStatus());
+        assertEquals(gatsbyIsbn, results.get(4).getIsbn());
+
+        assertEquals(1, response.getSummary().get(Status.CREATED));
+        assertEquals(2, response.getSummary().get(Status.EXISTS));
+        verify(bookService, never()).importBookFromExternalApis(duneIsbn, true);
+        verify(bookRepository, never()).existsByIsbn(anyString());
+    }
+
+    @Test
+    void importBooks_LooksUpNewIsbnsInBatches() throws Exception {
+        // Mock
+        List<String> isbns = List.of(frankensteinIsbn, duneIsbn, "0441172717", gatsbyIsbn);
+        when(bookRepository.findExistingIsbns(isbns)).thenReturn(Set.of(duneIsbn));
+        doThrow(new RuntimeException("Google Books unavailable"))
+                .when(bookService).prefetchFromExternalApis(List.of(gatsbyIsbn));
+        when(bookService.importBookFromExternalApis(anyString(), eq(true))).thenReturn(FrankensteinDTO);
+
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(isbns);
+
+        // Assert
+        verify(bookService).prefetchFromExternalApis(List.of(frankensteinIsbn, "0441172717"));
+        verify(bookService).prefetchFromExternalApis(List.of(gatsbyIsbn));
+        // A failed batch lookup still imports its books one by one
+        assertEquals(3, response.getSummary().get(Status.CREATED));
+        assertEquals(1, response.getSummary().get(Status.EXISTS));
+    }
+
+    @Test
+    void importBooks_DuplicateIsbnsAreImportedOnce() throws Exception {
+        // Mock
+        when(bookRepository.findExistingIsbns(List.of(frankensteinIsbn))).thenReturn(Set.of());
+        when(bookService.importBookFromExternalApis(frankensteinIsbn, true)).thenReturn(FrankensteinDTO);
+
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(
+                List.of(frankensteinIsbn, "978-0553212471", frankensteinIsbn));
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals(frankensteinIsbn, response.getResults().get(0).getIsbn());
+        verify(bookService, times(1)).importBookFromExternalApis(frankensteinIsbn, true);
+    }
+
+    @Test
+    void importBooks_HyphenatedIsbn_ReportsRequestedIsbn() throws Exception {
+        // Mock
+        when(bookRepository.findExistingIsbns(List.of(frankensteinIsbn))).thenReturn(Set.of());
+        when(bookService.importBookFromExternalApis(frankensteinIsbn, true)).thenReturn(FrankensteinDTO);
+
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(List.of("978-0553212471", frankensteinIsbn));
+
+        // Assert
+        assertEquals(1, response.getResults().size());
+        assertEquals("978-0553212471", response.getResults().get(0).getIsbn());
+        assertEquals(Status.CREATED, response.getResults().get(0).getStatus());
+    }
+
+    @Test
+    void importBooks_UnexpectedErrorIsReportedAsFailed() throws Exception {
+        // Mock
+        when(bookRepository.findExistingIsbns(List.of(frankensteinIsbn))).thenReturn(Set.of());
+        when(bookService.importBookFromExternalApis(frankensteinIsbn, true)).thenThrow(new RuntimeException("Database error"));
+
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(List.of(frankensteinIsbn));
+
+        // Assert
+        BulkImportResult result = response.getResults().getFirst();
+        assertEquals(Status.FAILED, result.getStatus());
+        assertEquals("Database error", result.getMessage());
+    }
+
+    @Test
+    void importBooks_RunsImportsConcurrently() throws Exception {
+        // Each import waits until all of them have started, which only completes if they run concurrently
+        List<String> isbns = List.of(frankensteinIsbn, duneIsbn, gatsbyIsbn);
+        CountDownLatch allStarted = new CountDownLatch(isbns.size());
+        List<String> imported = Collections.synchronizedList(new ArrayList<>());
+
+        when(bookRepository.findExistingIsbns(isbns)).thenReturn(Set.of());
+        when(bookService.importBookFromExternalApis(anyString(), eq(true))).thenAnswer(invocation -> {
+            allStarted.countDown();
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS), "Imports should run concurrently");
+            imported.add(invocation.getArgument(0));
+            return FrankensteinDTO;
+        });
+
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(isbns);
+
+        // Assert
+        assertEquals(3, response.getSummary().get(Status.CREATED));
+        assertEquals(3, imported.size());
+    }
+
+    @Test
+    void importBooks_OnlyInvalidIsbns_DoesNotQueryRepository() {
+        // Act
+        BulkImportResponse response = bulkImportService.importBooks(List.of(invalidIsbn));
+
+        // Assert
+        assertEquals(Status.INVALID, response.getResults().getFirst().getStatus());
+        verifyNoInteractions(bookRepository, bookService);
+    }
+
+    @Test
+    void importBooks_EmptyRequest() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importBooks(List.of()));
+        assertEquals("At least one ISBN must be provided in the bulk import request.", exception.getMessage());
+    }
+
+    @Test
+    void importBooks_TooManyIsbns() {
+        List<String> isbns = Collections.nCopies(6, frankensteinIsbn);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importBooks(isbns));
+        assertEquals("Bulk import is limited to 5 ISBNs per request.", exception.getMessage());
+    }
+}
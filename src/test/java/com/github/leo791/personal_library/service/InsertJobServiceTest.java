@@ -0,0 +1,237 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.exception.BookExistsException;
+import com.github.leo791.personal_library.exception.ExternalBookNotFoundException;
+import com.github.leo791.personal_library.exception.JobNotFoundException;
+import com.github.leo791.personal_library.model.dto.BookDTO;
+import com.github.leo791.personal_library.model.dto.InsertJobDTO;
+import com.github.leo791.personal_library.model.dto.InsertJobDTO.Status;
+import com.github.leo791.personal_library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the InsertJobService class. */
+@ExtendWith(MockitoExtension.class)
+class InsertJobServiceTest {
+
+    // Valid ISBN for testing purposes.
+    String frankensteinIsbn = "9780553212471";
+    // This is an invalid ISBN for testing purposes.
+    String invalidIsbn = "9783161484101";
+
+    BookDTO FrankensteinDTO = new BookDTO(frankensteinIsbn, "Frankenstein", "Mary Shelley", "Horror",
+            "A novel about a scientist who creates a creature in an unorthodox experiment.",
+            "EN", 280, "Lackington, Hughes, Harding, Mavor & Jones", "1818");
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    // Holds submitted jobs until the test runs them
+    private final Queue<Runnable> queuedJobs = new ArrayDeque<>();
+    private final TaskExecutor executor = queuedJobs::add;
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+
+    private InsertJobService insertJobService;
+
+    @BeforeEach
+    void setUp() {
+        insertJobService = new InsertJobService(bookService, bookRepository, executor, Duration.ofHours(1), clock);
+    }
+
+    @Test
+    void submit_ReturnsPendingJob() {
+        // Act
+        InsertJobDTO job = insertJobService.submit(frankensteinIsbn);
+
+        // Assert
+        assertNotNull(job.getId());
+        assertEquals(frankensteinIsbn, job.getIsbn());
+        assertEquals(Status.PENDING, job.getStatus());
+        assertEquals(job, insertJobService.getJob(job.getId()));
+        assertEquals(1, queuedJobs.size());
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void submit_JobSucceeds() throws Exception {
+        // Mock
+        when(bookService.insertBookFromIsbn(frankensteinIsbn)).thenReturn(FrankensteinDTO);
+
+        // Act
+        InsertJobDTO job = insertJobService.submit(frankensteinIsbn);
+        queuedJobs.poll().run();
+
+        // Assert
+        InsertJobDTO finishedJob = insertJobService.getJob(job.getId());
+        assertEquals(Status.SUCCEEDED, finishedJob.getStatus());
+        assertEquals(FrankensteinDTO, finishedJob.getBook());
+        assertNull(finishedJob.getError());
+    }
+
+    @Test
+    void submit_JobFailsWhenBookNotFound() throws Exception {
+        // Mock
+        when(bookService.insertBookFromIsbn(frankensteinIsbn))
+                .thenThrow(new ExternalBookNotFoundException(frankensteinIsbn));
+
+        // Act
+        InsertJobDTO job = insertJobService.submit(frankensteinIsbn);
+        queuedJobs.poll().run();
+
+        // Assert
+        InsertJobDTO finishedJob = insertJobService.getJob(job.getId());
+        assertEquals(Status.FAILED, finishedJob.getStatus());
+        assertNull(finishedJob.getBook());
+        assertEquals(new ExternalBookNotFoundException(frankensteinIsbn).getMessage(), finishedJob.getError());
+    }
+
+    @Test
+    void submit_JobFailsOnUnexpectedError() throws Exception {
+        // Mock
+        when(bookService.insertBookFromIsbn(frankensteinIsbn)).thenThrow(new RuntimeException("Connection reset"));
+
+        // Act
+        InsertJobDTO job = insertJobService.submit(frankensteinIsbn);
+        queuedJobs.poll().run();
+
+        // Assert
+        InsertJobDTO finishedJob = insertJobService.getJob(job.getId());
+        assertEquals(Status.FAILED, finishedJob.getStatus());
+        assertEquals("An unexpected error occurred", finishedJob.getError());
+    }
+
+    @Test
+    void submit_InvalidIsbn() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> insertJobService.submit(invalidIsbn));
+        assertTrue(queuedJobs.isEmpty());
+    }
+
+    @Test
+    void submit_BookAlreadyExists() {
+        // Mock
+        when(bookRepository.existsByIsbn(frankensteinIsbn)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(BookExistsException.class, () -> insertJobService.submit(frankensteinIsbn));
+        assertTrue(queuedJobs.isEmpty());
+    }
+
+    @Test
+    void submit_ExecutorRejectsJob() {
+        // Arrange
+        TaskExecutor fullExecutor = task -> {
+            throw new TaskRejectedException("Executor queue is full");
+        };
+        insertJobService = new InsertJobService(bookService, bookRepository, fullExecutor, Duration.ofHours(1), clock);
+
+        // Act & Assert
+        assertThrows(TaskRejectedException.class, () -> insertJobService.submit(frankensteinIsbn));
+    }
+
+    @Test
+    void getJob_UnknownId() {
+        // Act & Assert
+        assertThrows(JobNotFoundException.class, () -> insertJobService.getJob("unknown"));
+    }
+
+    @Test
+    void getJob_FinishedJobExpires() throws Exception {
+        // Mock
+        when(bookRepository.existsByIsbn(anyString())).thenReturn(false);
+        when(bookService.insertBookFromIsbn(frankensteinIsbn)).thenReturn(FrankensteinDTO);
+
+        // Act
+        InsertJobDTO finishedJob = insertJobService.submit(frankensteinIsbn);
+        queuedJobs.poll().run();
+        InsertJobDTO pendingJob = insertJobService.submit(frankensteinIsbn);
+        clock.advance(Duration.ofHours(2));
+        insertJobService.submit(frankensteinIsbn);
+
+        // Assert
+        assertThrows(JobNotFoundException.class, () -> insertJobService.getJob(finishedJob.getId()));
+        assertEquals(Status.PENDING, insertJobService.getJob(pendingJob.getId()).getStatus());
+    }
+
+    @Test
+    void getJob_FinishedJobExpiresWithoutNewSubmissions() throws Exception {
+        // Mock
+        when(bookService.insertBookFromIsbn(frankensteinIsbn)).thenReturn(FrankensteinDTO);
+
+        // Act
+        InsertJobDTO job = insertJobService.submit(frankensteinIsbn);
+        queuedJobs.poll().run();
+        clock.advance(Duration.ofMinutes(59));
+        Status statusBeforeExpiry = insertJobService.getJob(job.getId()).getStatus();
+        clock.advance(Duration.ofMinutes(2));
+
+        // Assert
+        assertEquals(Status.SUCCEEDED, statusBeforeExpiry);
+        assertThrows(JobNotFoundException.class, () -> insertJobService.getJob(job.getId()));
+    }
+
+    @Test
+    void removeExpiredJobs_KeepsUnfinishedJobs() throws Exception {
+        // Mock
+        when(bookService.insertBookFromIsbn(frankensteinIsbn)).thenReturn(FrankensteinDTO);
+
+        // Act
+        InsertJobDTO finishedJob = insertJobService.submit(frankensteinIsbn);
+        queuedJobs.poll().run();
+        InsertJobDTO pendingJob = insertJobService.submit(frankensteinIsbn);
+        clock.advance(Duration.ofHours(2));
+        insertJobService.removeExpiredJobs();
+        clock.advance(Duration.ofHours(-2));
+
+        // Assert
+        assertThrows(JobNotFoundException.class, () -> insertJobService.getJob(finishedJob.getId()));
+        assertEquals(Status.PENDING, insertJobService.getJob(pendingJob.getId()).getStatus());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
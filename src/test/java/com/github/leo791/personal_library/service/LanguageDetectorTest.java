@@ -0,0 +1,56 @@
+package com.github.leo791.personal_library.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Unit tests for the LanguageDetector class. */
+class LanguageDetectorTest {
+
+    private final LanguageDetector languageDetector =
+            new LanguageDetector(List.of("en", "pt", "es", "fr", "de", "it"), 0.15, 20);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "en | For generations of enthralled readers, the mysterious millionaire Jay Gatsby has come to embody all the glamour and decadence of the Roaring Twenties.",
+            "pt | Ensaio sobre a cegueira conta a história de uma epidemia que deixa toda a população de uma cidade cega.",
+            "es | Una obra maestra de la literatura universal que narra las aventuras de un hidalgo que enloquece leyendo libros de caballerías.",
+            "fr | Un chef-d'œuvre de la littérature qui raconte la vie d'un jeune homme ambitieux à Paris au dix-neuvième siècle.",
+            "de | Ein Meisterwerk der Weltliteratur über einen jungen Mann, der sich in eine verheiratete Frau verliebt.",
+            "it | Un capolavoro della letteratura che racconta la storia di due giovani promessi sposi nella Lombardia del Seicento."
+    })
+    void detect(String language, String text) {
+        assertEquals(Optional.of(language), languageDetector.detect(text));
+    }
+
+    @Test
+    void detect_ShortText() {
+        assertEquals(Optional.empty(), languageDetector.detect("Dune"));
+        assertEquals(Optional.empty(), languageDetector.detect(null));
+    }
+
+    @Test
+    void detect_TooFewLetters() {
+        // Numbers give no clue about the language
+        assertEquals(Optional.empty(), languageDetector.detect("1984 2001 ISBN 9780441172719 XYZ"));
+    }
+
+    @Test
+    void detect_NotConfident() {
+        LanguageDetector strictDetector = new LanguageDetector(List.of("es", "pt"), 0.5, 20);
+
+        // Half Spanish, half Portuguese
+        assertEquals(Optional.empty(), strictDetector.detect(
+                "Una novela sobre la memoria y la familia. Um romance sobre a memória e a família."));
+    }
+
+    @Test
+    void constructor_MissingProfile() {
+        assertThrows(RuntimeException.class, () -> new LanguageDetector(List.of("xx"), 0.15, 20));
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.leo791.personal_library.service;
+
+import com.github.leo791.personal_library.client.LibreTranslateClient;
+import com.github.leo791.personal_library.model.dto.TranslationResult;
+import com.github.leo791.personal_library.model.entity.Translation;
+import com.github.leo791.personal_library.repository.TranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/** Unit tests for the TranslationCache class. */
+@ExtendWith(MockitoExtension.class)
+class TranslationCacheTest {
+
+    private final String text = "A novel about a scientist who creates a creature in an unorthodox experiment.";
+    private final String translatedText = "Una novela sobre un científico que crea una criatura en un experimento poco ortodoxo.";
+
+    @Mock
+    private LibreTranslateClient libreTranslateClient;
+
+    @Mock
+    private TranslationRepository translationRepository;
+
+    @Mock
+    private BatchingTranslator batchingTranslator;
+
+    private TranslationCache translationCache;
+
+    @BeforeEach
+    void setUp() {
+        translationCache = new TranslationCache(libreTranslateClient, batchingTranslator, translationRepository);
+    }
+
+    @Test
+    void translate_NewText_TranslatesAndStores() throws Exception {
+        // Mock
+        when(translationRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(libreTranslateClient.translate(text, "en", "ES")).thenReturn(translatedText);
+
+        // Act
+        String result = translationCache.translate(text, "en", "ES");
+
+        // Assert
+        assertEquals(translatedText, result);
+        ArgumentCaptor<Translation> captor = ArgumentCaptor.forClass(Translation.class);
+        verify(translationRepository).save(captor.capture());
+        assertEquals(TranslationCache.hash(text, "en", "es"), captor.getValue().getTextHash());
+        assertEquals("en", captor.getValue().getSourceLanguage());
+        assertEquals("es", captor.getValue().getTargetLanguage());
+        assertEquals(translatedText, captor.getValue().getTranslatedText());
+    }
+
+    @Test
+    void translate_StoredText_SkipsLibreTranslate() throws Exception {
+        // Arrange
+        String hash = TranslationCache.hash(text, "en", "es");
+
+        // Mock
+        when(translationRepository.findById(hash))
+                .thenReturn(Optional.of(new Translation(hash, "en", "es", translatedText)));
+
+        // Act
+        String result = translationCache.translate(text, "EN", "es");
+
+        // Assert
+        assertEquals(translatedText, result);
+        verifyNoInteractions(libreTranslateClient);
+        verify(translationRepository, never()).save(any());
+    }
+
+    @Test
+    void translate_SaveFails_ReturnsTranslation() throws Exception {
+        // Mock
+        when(translationRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(libreTranslateClient.translate(text, "en", "es")).thenReturn(translatedText);
+        when(translationRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertEquals(translatedText, translationCache.translate(text, "en", "es"));
+    }
+
+    @Test
+    void translate_Batched_UsesBatchingTranslator() throws Exception {
+        // Mock
+        when(translationRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(batchingTranslator.translate(text, "en", "es")).thenReturn(CompletableFuture.completedFuture(translatedText));
+
+        // Act
+        String result = translationCache.translate(text, "en", "es", true);
+
+        // Assert
+        assertEquals(translatedText, result);
+        verifyNoInteractions(libreTranslateClient);
+        verify(translationRepository).save(any());
+    }
+
+    @Test
+    void translate_BatchFails_ThrowsBatchError() {
+        // Mock
+        when(translationRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(batchingTranslator.translate(text, "en", "es"))
+                .thenReturn(CompletableFuture.failedFuture(new Exception("LibreTranslate unavailable")));
+
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> translationCache.translate(text, "en", "es", true));
+        assertEquals("LibreTranslate unavailable", exception.getMessage());
+        verify(translationRepository, never()).save(any());
+    }
+
+    @Test
+    void translateAuto_NewText_TranslatesAndStoresDetectedLanguage() throws Exception {
+        // Mock
+        when(translationRepository.findById(TranslationCache.hash(text, "auto", "es"))).thenReturn(Optional.empty());
+        when(libreTranslateClient.translateAuto(text, "es")).thenReturn(new TranslationResult("en", translatedText));
+
+        // Act
+        TranslationResult result = translationCache.translateAuto(text, "es");
+
+        // Assert
+        assertEquals(translatedText, result.getTranslatedText());
+        ArgumentCaptor<Translation> captor = ArgumentCaptor.forClass(Translation.class);
+        verify(translationRepository).save(captor.capture());
+        assertEquals("en", captor.getValue().getSourceLanguage());
+    }
+
+    @Test
+    void translateAuto_StoredText_SkipsLibreTranslate() throws Exception {
+        // Arrange
+        String hash = TranslationCache.hash(text, "auto", "es");
+
+        // Mock
+        when(translationRepository.findById(hash))
+                .thenReturn(Optional.of(new Translation(hash, "en", "es", translatedText)));
+
+        // Act
+        TranslationResult result = translationCache.translateAuto(text, "ES");
+
+        // Assert
+        assertEquals("en", result.getDetectedLanguage());
+        assertEquals(translatedText, result.getTranslatedText());
+        verifyNoInteractions(libreTranslateClient);
+    }
+
+    @Test
+    void hash_DependsOnTextAndLanguages() {
+        String hash = TranslationCache.hash(text, "en", "es");
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, TranslationCache.hash(text, "en", "es"));
+        assertNotEquals(hash, TranslationCache.hash(text, "en", "fr"));
+        assertNotEquals(hash, TranslationCache.hash(text, "fr", "es"));
+        assertNotEquals(hash, TranslationCache.hash(text + ".", "en", "es"));
+    }
+}
@@ -36,11 +36,15 @@ class GoogleBooksResponseMapperUtilsTest {
     }
 
     // ========== extractGenre ==========
+
+    private static GoogleBookResponse.VolumeInfo volumeInfoWithGenre(String mainCategory, List<String> categories) {
+        return new GoogleBookResponse.VolumeInfo(null, null, null, null, mainCategory, categories,
+                null, null, null, null);
+    }
+
     @Test
     void testExtractGenre_MainCategoryExists() {
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setMainCategory("Science Fiction");
-        volumeInfo.setCategories(List.of("Adventure", "Fantasy"));
+        GoogleBookResponse.VolumeInfo volumeInfo = volumeInfoWithGenre("Science Fiction", List.of("Adventure", "Fantasy"));
 
         String genre = GoogleBooksResponseMapperUtils.extractGenre(volumeInfo);
         assertEquals("Science Fiction", genre, "Should return mainCategory if available");
@@ -48,9 +52,7 @@ class GoogleBooksResponseMapperUtilsTest {
 
     @Test
     void testExtractGenre_MainCategoryIsNull_CategoriesExist() {
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setMainCategory(null);
-        volumeInfo.setCategories(List.of("Adventure", "Fantasy"));
+        GoogleBookResponse.VolumeInfo volumeInfo = volumeInfoWithGenre(null, List.of("Adventure", "Fantasy"));
 
         String genre = GoogleBooksResponseMapperUtils.extractGenre(volumeInfo);
         assertEquals("Adventure", genre, "Should return first category if mainCategory is not available");
@@ -58,9 +60,7 @@ class GoogleBooksResponseMapperUtilsTest {
 
     @Test
     void testExtractGenre_MainCategoryIsBlank_CategoriesExist() {
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setMainCategory("");
-        volumeInfo.setCategories(List.of("Adventure", "Fantasy"));
+        GoogleBookResponse.VolumeInfo volumeInfo = volumeInfoWithGenre("", List.of("Adventure", "Fantasy"));
 
         String genre = GoogleBooksResponseMapperUtils.extractGenre(volumeInfo);
         assertEquals("Adventure", genre, "Should return first category if mainCategory is not available");
@@ -68,9 +68,7 @@ class GoogleBooksResponseMapperUtilsTest {
 
     @Test
     void testExtractGenre_MainCategoryIsNull_CategoriesIsEmpty() {
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setMainCategory(null);
-        volumeInfo.setCategories(List.of());
+        GoogleBookResponse.VolumeInfo volumeInfo = volumeInfoWithGenre(null, List.of());
 
         String genre = GoogleBooksResponseMapperUtils.extractGenre(volumeInfo);
         assertEquals("", genre, "Should return an empty string if both mainCategory and categories are not available");
@@ -78,9 +76,7 @@ class GoogleBooksResponseMapperUtilsTest {
 
     @Test
     void testExtractGenre_MainCategoryIsNull_CategoriesIsNull() {
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setMainCategory(null);
-        volumeInfo.setCategories(null);
+        GoogleBookResponse.VolumeInfo volumeInfo = volumeInfoWithGenre(null, null);
 
         String genre = GoogleBooksResponseMapperUtils.extractGenre(volumeInfo);
         assertEquals("", genre, "Should return an empty string if both mainCategory and categories are null");
@@ -88,8 +84,7 @@ class GoogleBooksResponseMapperUtilsTest {
 
     @Test
     void testExtractGenre_WithAmpersand() {
-        GoogleBookResponse.VolumeInfo volumeInfo = new GoogleBookResponse.VolumeInfo();
-        volumeInfo.setMainCategory("Science & Technology");
+        GoogleBookResponse.VolumeInfo volumeInfo = volumeInfoWithGenre("Science & Technology", null);
 
         String genre = GoogleBooksResponseMapperUtils.extractGenre(volumeInfo);
         assertEquals("Science and Technology", genre, "Should return mainCategory with ampersand replaced by 'and'");
@@ -28,6 +28,14 @@ class IsbnUtilsTest {
         assertFalse(IsbnUtils.isValidIsbn(null), "Null should return false");
     }
 
+    @Test
+    void testNormalizeIsbn() {
+        assertEquals("0441172717", IsbnUtils.normalizeIsbn(validIsbn10WithHyphens), "Hyphens should be removed");
+        assertEquals("9780441172719", IsbnUtils.normalizeIsbn(" 978 0441172719 "), "Whitespace should be removed");
+        assertEquals(validIsbn13, IsbnUtils.normalizeIsbn(validIsbn13), "Normalized ISBN should be unchanged");
+        assertNull(IsbnUtils.normalizeIsbn(null), "Null should return null");
+    }
+
     @Test
     void testCalculateIsbn10CheckDigit() {
         assertEquals(7, IsbnUtils.calculateIsbn10CheckDigit(validIsbn10), "ISBN-10 check digit should be 7");